@@ -0,0 +1,66 @@
+package edu.caltech.cs2.project01;
+
+import edu.caltech.cs2.project01.interfaces.IBatchScorer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Scores BATCH_SIZE candidate keys per invocation. The fork adds the Vector
+// API module so vectorBatch measures VectorBatchScorer; without it,
+// IBatchScorer.create falls back to the scalar scorer.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class BatchScoringBenchmarks {
+    private static final int BATCH_SIZE = 64;
+
+    @Param({"100", "1000", "10000"})
+    public int textLength;
+
+    private QuadGramLikelihoods likelihoods;
+    private SubstitutionCipher[] ciphers;
+    private int[][] keys;
+    private double[] scores;
+    private IBatchScorer scalar;
+    private IBatchScorer vector;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.likelihoods = new QuadGramLikelihoods();
+        String ciphertext = BenchmarkTexts.encrypt(BenchmarkTexts.plaintext(this.textLength),
+                BenchmarkTexts.key(BenchmarkTexts.SEED));
+        this.keys = new int[BATCH_SIZE][];
+        this.ciphers = new SubstitutionCipher[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            this.keys[i] = BenchmarkTexts.key(BenchmarkTexts.SEED + 1 + i);
+            this.ciphers[i] = new SubstitutionCipher(ciphertext, SubstitutionScorer.toMap(this.keys[i]));
+        }
+        this.scores = new double[BATCH_SIZE];
+        this.scalar = new ScalarBatchScorer(ciphertext, this.likelihoods);
+        this.vector = IBatchScorer.create(ciphertext, this.likelihoods);
+    }
+
+    @Benchmark
+    public double[] getScore() {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            this.scores[i] = this.ciphers[i].getScore(this.likelihoods);
+        }
+        return this.scores;
+    }
+
+    @Benchmark
+    public double[] scalarBatch() {
+        this.scalar.score(this.keys, this.scores);
+        return this.scores;
+    }
+
+    @Benchmark
+    public double[] vectorBatch() {
+        this.vector.score(this.keys, this.scores);
+        return this.scores;
+    }
+}
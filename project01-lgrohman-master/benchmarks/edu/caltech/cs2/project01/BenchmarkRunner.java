@@ -0,0 +1,30 @@
+package edu.caltech.cs2.project01;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the cipher benchmarks and saves the results as JSON, so runs from
+ * different releases can be compared.
+ *
+ * Usage: BenchmarkRunner [results.json] [benchmark regex]
+ * Run from the project directory so plaintext.txt and english_quadgrams.txt are found.
+ */
+public class BenchmarkRunner {
+    public static final String DEFAULT_RESULTS = "jmh-results.json";
+
+    public static void main(String[] args) throws RunnerException {
+        String results = args.length > 0 ? args[0] : DEFAULT_RESULTS;
+        String include = args.length > 1 ? args[1] : "edu\\.caltech\\.cs2\\.project01\\..*Benchmarks";
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .resultFormat(ResultFormatType.JSON)
+                .result(results)
+                .build();
+        new Runner(options).run();
+    }
+}
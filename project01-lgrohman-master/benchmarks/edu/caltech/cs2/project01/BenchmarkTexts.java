@@ -0,0 +1,44 @@
+package edu.caltech.cs2.project01;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Random;
+
+/**
+ * Deterministic inputs for the benchmarks, built from plaintext.txt.
+ */
+public class BenchmarkTexts {
+    public static final long SEED = 20200415L;
+
+    /**
+     * Returns the first length letters of plaintext.txt, repeating it as
+     * many times as needed.
+     */
+    public static String plaintext(int length) throws IOException {
+        String source = Files.readString(Paths.get("plaintext.txt")).strip();
+        StringBuilder text = new StringBuilder(length);
+        while (text.length() < length) {
+            text.append(source, 0, Math.min(source.length(), length - text.length()));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Returns a random key drawn from a generator seeded with seed.
+     */
+    public static int[] key(long seed) {
+        return SubstitutionScorer.randomKey(new Random(seed));
+    }
+
+    /**
+     * Returns plaintext encrypted with key.
+     */
+    public static String encrypt(String plaintext, int[] key) {
+        char[] text = plaintext.toCharArray();
+        for (int i = 0; i < text.length; i++) {
+            text[i] = (char) ('A' + key[text[i] - 'A']);
+        }
+        return new String(text);
+    }
+}
@@ -0,0 +1,37 @@
+package edu.caltech.cs2.project01;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CaesarCipherBenchmarks {
+    @Param({"100", "10000", "1000000"})
+    public int textLength;
+
+    private String text;
+    private byte[] bytes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.text = BenchmarkTexts.plaintext(this.textLength);
+        this.bytes = this.text.getBytes();
+    }
+
+    @Benchmark
+    public String rotString() {
+        return CaesarCipher.rot(this.text, 13);
+    }
+
+    @Benchmark
+    public byte[] rotBytes() {
+        CaesarCipher.rot(this.bytes, 0, this.bytes.length, 13);
+        return this.bytes;
+    }
+}
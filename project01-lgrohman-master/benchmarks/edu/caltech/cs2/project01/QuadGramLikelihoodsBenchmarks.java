@@ -0,0 +1,39 @@
+package edu.caltech.cs2.project01;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(3)
+public class QuadGramLikelihoodsBenchmarks {
+    private Path model;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.model = Files.createTempFile("quadgrams", ".bin");
+        QuadGramModelCompiler.compile(new QuadGramLikelihoods(), this.model);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.model);
+    }
+
+    @Benchmark
+    public QuadGramLikelihoods loadText() throws IOException {
+        return new QuadGramLikelihoods();
+    }
+
+    @Benchmark
+    public QuadGramLikelihoods loadCompiled() throws IOException {
+        return new QuadGramLikelihoods(this.model);
+    }
+}
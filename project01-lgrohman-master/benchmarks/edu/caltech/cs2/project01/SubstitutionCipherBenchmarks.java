@@ -0,0 +1,95 @@
+package edu.caltech.cs2.project01;
+
+import edu.caltech.cs2.project01.strategies.HillClimbingStrategy;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SubstitutionCipherBenchmarks {
+    @Param({"100", "1000", "10000"})
+    public int textLength;
+
+    private QuadGramLikelihoods likelihoods;
+    private SubstitutionCipher cipher;
+    private SubstitutionScorer scorer;
+    private int[] key;
+    private ScoredKey scored;
+    private SubstitutionRenderer renderer;
+    private char[] text;
+    private char[] rendered;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.likelihoods = new QuadGramLikelihoods();
+        String ciphertext = BenchmarkTexts.encrypt(BenchmarkTexts.plaintext(this.textLength),
+                BenchmarkTexts.key(BenchmarkTexts.SEED));
+        this.key = BenchmarkTexts.key(BenchmarkTexts.SEED + 1);
+        this.cipher = new SubstitutionCipher(ciphertext, SubstitutionScorer.toMap(this.key));
+        this.scorer = new SubstitutionScorer(ciphertext, this.likelihoods);
+        this.scored = this.scorer.track(this.key.clone());
+        this.renderer = new SubstitutionRenderer(this.key);
+        this.text = ciphertext.toCharArray();
+        this.rendered = new char[this.text.length];
+    }
+
+    @Benchmark
+    public double getScore() {
+        return this.cipher.getScore(this.likelihoods);
+    }
+
+    @Benchmark
+    public double scorerScore() {
+        return this.scorer.score(this.key);
+    }
+
+    @Benchmark
+    public double swapDelta() {
+        return this.scorer.swapDelta(this.key, 4, 19);
+    }
+
+    // The same swap as swapDelta, tried on a key whose n-gram scores are already known.
+    @Benchmark
+    public double scoredSwapDelta() {
+        return this.scored.swapDelta(4, 19);
+    }
+
+    @Benchmark
+    public String getPlainText() {
+        return this.cipher.getPlainText();
+    }
+
+    @Benchmark
+    public char[] renderInto() {
+        this.renderer.render(this.text, 0, this.text.length, this.rendered, 0);
+        return this.rendered;
+    }
+
+    @Benchmark
+    public SubstitutionCipher randomSwap() {
+        return this.cipher.randomSwap();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public SubstitutionCipher getSolution() {
+        return this.cipher.getSolution(this.likelihoods);
+    }
+
+    // Same climb as getSolution, but seeded so every invocation does the same work.
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public double seededHillClimb() {
+        int[] start = BenchmarkTexts.key(BenchmarkTexts.SEED + 2);
+        return new HillClimbingStrategy().search(this.scorer, start, new SplittableRandom(BenchmarkTexts.SEED));
+    }
+}
@@ -1,5 +1,12 @@
 package edu.caltech.cs2.project01;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Scanner;
 
 public class CaesarCipher {
@@ -9,6 +16,17 @@ public class CaesarCipher {
             'S', 'T', 'U', 'V', 'W', 'X', 'Y', 'Z'
     };
 
+    // Size of the buffer streamed through rot(Path, Path, int).
+    private static final int STREAM_BUFFER_BYTES = 1 << 20;
+    // TABLES[shift] translates bytes by shift letters; shared, so never handed out.
+    private static final byte[][] TABLES = new byte[ALPHABET.length][];
+
+    static {
+        for (int shift = 0; shift < TABLES.length; shift++) {
+            TABLES[shift] = buildTable(shift);
+        }
+    }
+
     /**
      * Returns the 0-based index in the ALPHABET array where c appears,
      * or -1 if c is not in ALPHABET
@@ -21,10 +39,9 @@ public class CaesarCipher {
      * @return the index of c in ALPHABET or -1 if c is not in ALPHABET
      */
     public static int findIndexInAlphabet(char c) {
-        for (int i = 0; i < ALPHABET.length; i++) {
-            if (ALPHABET[i] == c) {
-                return i;
-            }
+        // ALPHABET is 'A' through 'Z' in order, so the index is an offset.
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
         }
         return -1;
     }
@@ -68,11 +85,115 @@ public class CaesarCipher {
      * @return the rotated string
      */
     public static String rot(String line, int amount) {
-        String result = "";
-        for (char c : line.toCharArray()) {
-            result += Character.toString(rot(c, amount));
+        char[] result = line.toCharArray();
+        for (int i = 0; i < result.length; i++) {
+            result[i] = rot(result[i], amount);
+        }
+        return new String(result);
+    }
+
+    /**
+     * Returns a 256-entry translation table for rotating by amount letters.
+     * Upper- and lower-case ASCII letters are rotated within their own case
+     * and every other byte maps to itself. amount may be negative or larger
+     * than 26.
+     *
+     * For example:
+     *  translationTable(1)['A'] is 'B'
+     *  translationTable(1)['z'] is 'a'
+     *  translationTable(1)[' '] is ' '
+     *
+     * @param amount the number of characters to rotate by
+     * @return the translation table, which the caller may modify
+     */
+    public static byte[] translationTable(int amount) {
+        return table(amount).clone();
+    }
+
+    private static byte[] table(int amount) {
+        return TABLES[Math.floorMod(amount, ALPHABET.length)];
+    }
+
+    private static byte[] buildTable(int shift) {
+        byte[] table = new byte[256];
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (byte) i;
+        }
+        for (int i = 0; i < ALPHABET.length; i++) {
+            table['A' + i] = (byte) ('A' + (i + shift) % ALPHABET.length);
+            table['a' + i] = (byte) ('a' + (i + shift) % ALPHABET.length);
+        }
+        return table;
+    }
+
+    /**
+     * Rotates the letters in buf[offset] through buf[offset + length - 1] by
+     * amount letters in place, as described by translationTable.
+     *
+     * @param buf the bytes to rotate
+     * @param offset the index of the first byte to rotate
+     * @param length the number of bytes to rotate
+     * @param amount the number of characters to rotate by
+     */
+    public static void rot(byte[] buf, int offset, int length, int amount) {
+        translate(buf, offset, length, table(amount));
+    }
+
+    /**
+     * Rotates the letters in the remaining characters of buf by amount
+     * letters in place, as described by translationTable. The position of
+     * buf is not changed.
+     *
+     * @param buf the characters to rotate
+     * @param amount the number of characters to rotate by
+     */
+    public static void rot(CharBuffer buf, int amount) {
+        byte[] table = table(amount);
+        for (int i = buf.position(); i < buf.limit(); i++) {
+            char c = buf.get(i);
+            if (c < table.length) {
+                buf.put(i, (char) (table[c] & 0xFF));
+            }
+        }
+    }
+
+    /**
+     * Streams the file in through the rotation by amount and writes the
+     * result to out. Bytes are translated as described by translationTable,
+     * so any ASCII-compatible encoding (including UTF-8) is preserved, and
+     * only one fixed-size buffer is used however large the file is.
+     *
+     * @param in the file to read
+     * @param out the file to write, replaced if it exists; must not be in
+     * @param amount the number of characters to rotate by
+     * @throws IOException if either file cannot be read or written
+     * @throws IllegalArgumentException if in and out are the same file
+     */
+    public static void rot(Path in, Path out, int amount) throws IOException {
+        // Opening out truncates it before anything is read, which would erase in.
+        if (Files.exists(out) && Files.isSameFile(in, out)) {
+            throw new IllegalArgumentException("in and out must be different files");
+        }
+        byte[] table = table(amount);
+        ByteBuffer buffer = ByteBuffer.allocate(STREAM_BUFFER_BYTES);
+        try (FileChannel source = FileChannel.open(in, StandardOpenOption.READ);
+             FileChannel sink = FileChannel.open(out, StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (source.read(buffer) >= 0) {
+                buffer.flip();
+                translate(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), table);
+                while (buffer.hasRemaining()) {
+                    sink.write(buffer);
+                }
+                buffer.clear();
+            }
+        }
+    }
+
+    private static void translate(byte[] buf, int offset, int length, byte[] table) {
+        for (int i = offset; i < offset + length; i++) {
+            buf[i] = table[buf[i] & 0xFF];
         }
-        return result;
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,132 @@
+package edu.caltech.cs2.project01;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+/**
+ * Solves Caesar ciphers by letter frequency instead of brute force. The
+ * cipher text is counted once, all 26 shifts are ranked by how far the
+ * shifted counts are from English letter frequencies (chi-squared), and only
+ * the best few shifts are decrypted and checked against a DictionaryIndex.
+ */
+public class CaesarFrequencySolver {
+    // Relative frequencies of 'A' through 'Z' in English text.
+    public static final double[] ENGLISH_FREQUENCIES = {
+            0.08167, 0.01492, 0.02782, 0.04253, 0.12702, 0.02228, 0.02015, 0.06094, 0.06966,
+            0.00153, 0.00772, 0.04025, 0.02406, 0.06749, 0.07507, 0.01929, 0.00095, 0.05987,
+            0.06327, 0.09056, 0.02758, 0.00978, 0.02360, 0.00150, 0.01974, 0.00074
+    };
+    public static final int DEFAULT_CANDIDATES = 3;
+
+    /**
+     * Returns how many times each of 'A' through 'Z' appears in text.
+     * Other characters are ignored.
+     * @param text the text to count
+     * @return an array of 26 counts, indexed like CaesarCipher.ALPHABET
+     */
+    public static int[] histogram(String text) {
+        int[] counts = new int[CaesarCipher.ALPHABET.length];
+        for (int i = 0; i < text.length(); i++) {
+            int letter = CaesarCipher.findIndexInAlphabet(text.charAt(i));
+            if (letter >= 0) {
+                counts[letter]++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the chi-squared distance between English and the text with the
+     * given histogram after rotating it by amount. Smaller is more English.
+     * The text itself is never rotated; only the histogram is re-indexed.
+     * @param histogram the letter counts of the cipher text
+     * @param amount the rotation to evaluate
+     * @return the chi-squared statistic of the rotated counts
+     */
+    public static double chiSquared(int[] histogram, int amount) {
+        long total = 0;
+        for (int count : histogram) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0.0;
+        }
+
+        double chi = 0.0;
+        for (int i = 0; i < histogram.length; i++) {
+            int plain = Math.floorMod(i + amount, histogram.length);
+            double expected = total * ENGLISH_FREQUENCIES[plain];
+            double difference = histogram[i] - expected;
+            chi += difference * difference / expected;
+        }
+        return chi;
+    }
+
+    /**
+     * Returns all 26 rotations ordered from most to least likely to decrypt
+     * text with the given histogram.
+     * @param histogram the letter counts of the cipher text
+     * @return the rotations 0 through 25, best first
+     */
+    public static int[] rankRotations(int[] histogram) {
+        int n = CaesarCipher.ALPHABET.length;
+        double[] scores = new double[n];
+        int[] order = new int[n];
+        for (int amount = 0; amount < n; amount++) {
+            scores[amount] = chiSquared(histogram, amount);
+            order[amount] = amount;
+        }
+
+        // Insertion sort; there are only 26 entries.
+        for (int i = 1; i < n; i++) {
+            int amount = order[i];
+            int j = i - 1;
+            while (j >= 0 && scores[order[j]] > scores[amount]) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = amount;
+        }
+        return order;
+    }
+
+    /**
+     * Returns the likely decryptions of ciphertext: those where more than
+     * half of the words are in dictionary. Only the best candidates
+     * rotations are checked unless none of them match, in which case the
+     * rest are checked in ranked order until one does.
+     * @param ciphertext upper-case words separated by single spaces
+     * @param dictionary the index of known words
+     * @param candidates how many of the best ranked rotations to check
+     * @return the likely plain texts, most likely first
+     */
+    public static List<String> solve(String ciphertext, DictionaryIndex dictionary, int candidates) {
+        List<String> words = CaesarCipherSolver.splitBySpaces(ciphertext);
+        int[] order = rankRotations(histogram(ciphertext));
+
+        List<String> found = new ArrayList<>();
+        for (int i = 0; i < order.length && (i < candidates || found.isEmpty()); i++) {
+            List<String> rotated = new ArrayList<>(words.size());
+            for (String word : words) {
+                rotated.add(CaesarCipher.rot(word, order[i]));
+            }
+            if (dictionary.countMatches(rotated) > words.size() / 2.0) {
+                found.add(CaesarCipherSolver.putTogetherWithSpaces(rotated));
+            }
+        }
+        return found;
+    }
+
+    public static void main(String[] args) {
+        DictionaryIndex dictionary = DictionaryIndex.load();
+
+        Scanner in = new Scanner(System.in);
+        System.out.print("Type a sentence to decrypt: ");
+        String line = in.nextLine();
+
+        for (String plain : solve(line, dictionary, DEFAULT_CANDIDATES)) {
+            System.out.println(plain);
+        }
+    }
+}
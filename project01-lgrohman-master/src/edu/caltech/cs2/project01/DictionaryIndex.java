@@ -0,0 +1,191 @@
+package edu.caltech.cs2.project01;
+
+import java.util.List;
+
+/**
+ * A read-only set of words built for fast membership checks.
+ *
+ * Every word is packed into one shared char[] and found through an
+ * open-addressed hash table of word ids, so a lookup is a hash and, usually,
+ * a single comparison. An optional Bloom filter in front of the table
+ * answers most lookups of words that are not in the dictionary without
+ * touching the table at all.
+ */
+public class DictionaryIndex {
+    private static final int BLOOM_BITS_PER_WORD = 10;
+    private static final int BLOOM_HASHES = 4;
+
+    private final char[] chars;
+    private final int[] offsets;
+    private final int[] hashes;
+    private final int[] table;
+    private final int mask;
+    private final long[] bloom;
+    private final int size;
+
+    /**
+     * Builds an index of the given words. Duplicate words are stored once.
+     * @param words the words to index
+     * @param bloomFilter whether to put a Bloom filter in front of the table
+     */
+    public DictionaryIndex(List<String> words, boolean bloomFilter) {
+        int totalChars = 0;
+        for (String word : words) {
+            totalChars += word.length();
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(2, words.size()) * 2 - 1) << 1;
+        this.chars = new char[totalChars];
+        this.offsets = new int[words.size() + 1];
+        this.hashes = new int[words.size()];
+        this.table = new int[capacity];
+        this.mask = capacity - 1;
+        this.bloom = bloomFilter ? new long[Math.max(1, (words.size() * BLOOM_BITS_PER_WORD + 63) / 64)] : null;
+
+        int n = 0;
+        for (String word : words) {
+            int hash = hash(word);
+            if (find(word, hash) >= 0) {
+                continue;
+            }
+            int start = this.offsets[n];
+            word.getChars(0, word.length(), this.chars, start);
+            this.offsets[n + 1] = start + word.length();
+            this.hashes[n] = hash;
+
+            int slot = hash & this.mask;
+            while (this.table[slot] != 0) {
+                slot = (slot + 1) & this.mask;
+            }
+            // Slots hold id + 1 so that 0 can mean empty.
+            this.table[slot] = n + 1;
+
+            if (this.bloom != null) {
+                addToBloom(hash);
+            }
+            n++;
+        }
+        this.size = n;
+    }
+
+    /**
+     * Builds an index of dictionary.txt with a Bloom filter.
+     * @return the index
+     */
+    public static DictionaryIndex load() {
+        return new DictionaryIndex(CaesarCipherSolver.getDictionary(), true);
+    }
+
+    /**
+     * Returns the number of distinct words in this index.
+     * @return the number of words
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns whether word is in this index.
+     * @param word the word to look up
+     * @return true if word is one of the indexed words
+     */
+    public boolean contains(CharSequence word) {
+        int hash = hash(word);
+        if (this.bloom != null && !mightContain(hash)) {
+            return false;
+        }
+        return find(word, hash) >= 0;
+    }
+
+    /**
+     * Returns the number of entries of words that are in this index.
+     * @param words the words to look up
+     * @return how many of them are indexed
+     */
+    public int countMatches(CharSequence[] words) {
+        int count = 0;
+        for (CharSequence word : words) {
+            if (contains(word)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of entries of words that are in this index.
+     * @param words the words to look up
+     * @return how many of them are indexed
+     */
+    public int countMatches(List<? extends CharSequence> words) {
+        int count = 0;
+        for (int i = 0; i < words.size(); i++) {
+            if (contains(words.get(i))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int find(CharSequence word, int hash) {
+        int slot = hash & this.mask;
+        while (this.table[slot] != 0) {
+            int id = this.table[slot] - 1;
+            if (this.hashes[id] == hash && matches(id, word)) {
+                return id;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        return -1;
+    }
+
+    private boolean matches(int id, CharSequence word) {
+        int start = this.offsets[id];
+        if (this.offsets[id + 1] - start != word.length()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (this.chars[start + i] != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // FNV-1a, finished with MurmurHash3's fmix32. A multiply alone only
+    // carries bits upwards; the xor-shifts fold the high bits back down, so
+    // the low bits used for slots depend on every character.
+    private static int hash(CharSequence word) {
+        int hash = 0x811C9DC5;
+        for (int i = 0; i < word.length(); i++) {
+            hash = (hash ^ word.charAt(i)) * 0x01000193;
+        }
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+    private void addToBloom(int hash) {
+        long bits = (long) this.bloom.length * 64;
+        int step = (hash >>> 16) | 1;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            long bit = Integer.toUnsignedLong(hash + i * step) % bits;
+            this.bloom[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    private boolean mightContain(int hash) {
+        long bits = (long) this.bloom.length * 64;
+        int step = (hash >>> 16) | 1;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            long bit = Integer.toUnsignedLong(hash + i * step) % bits;
+            if ((this.bloom[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,60 @@
+package edu.caltech.cs2.project01;
+
+import edu.caltech.cs2.project01.interfaces.ISolverListener;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * A listener that commits a JDK Flight Recorder event for every search, so
+ * searches show up next to GC and thread activity in a recording. When no
+ * recording has the event enabled, shouldCommit is false and a search costs
+ * one allocation and one check.
+ */
+public class JfrSolverListener implements ISolverListener {
+    @Override
+    public void onSearchFinished(SearchStats stats) {
+        SearchEvent event = new SearchEvent();
+        if (event.shouldCommit()) {
+            event.restart = stats.getRestart();
+            event.swapsTried = stats.getSwapsTried();
+            event.swapsAccepted = stats.getSwapsAccepted();
+            event.evaluations = stats.getEvaluations();
+            event.startScore = stats.getStartScore();
+            event.finalScore = stats.getFinalScore();
+            event.elapsed = stats.getElapsedNanos();
+            event.commit();
+        }
+    }
+
+    @Name("edu.caltech.cs2.project01.Search")
+    @Label("Substitution Cipher Search")
+    @Category({"CS2", "Ciphers"})
+    @Description("One search of a substitution cipher solver")
+    private static class SearchEvent extends Event {
+        @Label("Restart")
+        private int restart;
+
+        @Label("Swaps Tried")
+        private long swapsTried;
+
+        @Label("Swaps Accepted")
+        private long swapsAccepted;
+
+        @Label("Evaluations")
+        private long evaluations;
+
+        @Label("Start Score")
+        private double startScore;
+
+        @Label("Final Score")
+        private double finalScore;
+
+        @Label("Elapsed")
+        @Timespan(Timespan.NANOSECONDS)
+        private long elapsed;
+    }
+}
@@ -0,0 +1,266 @@
+package edu.caltech.cs2.project01;
+
+import edu.caltech.cs2.project01.interfaces.ILanguageModel;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * An n-gram language model for any order from MIN_ORDER to MAX_ORDER,
+ * built from a frequency file (one "NGRAM count" pair per line, like
+ * english_quadgrams.txt) or counted from a raw text corpus.
+ *
+ * Storage is sized to the order. Up to DENSE_MAX_ORDER the model is a dense
+ * float[26^n] indexed by the packed n-gram. Above it most n-grams never
+ * occur, so only the ones seen are kept in a sorted long[] whose entries
+ * hold the packed n-gram in the high 32 bits and the float likelihood's bits
+ * in the low 32 bits, found with interpolation search.
+ */
+public class NGramLikelihoods implements ILanguageModel {
+    public static final int MIN_ORDER = 2;
+    public static final int MAX_ORDER = 5;
+    public static final int DENSE_MAX_ORDER = 4;
+
+    private final int order;
+    private final double notFoundLikelihood;
+    private final float[] dense;
+    private final long[] sparse;
+
+    private NGramLikelihoods(int order, int[] codes, long[] counts, int size) {
+        this.order = order;
+
+        long total = size;
+        for (int i = 0; i < size; i++) {
+            total += counts[i];
+        }
+        this.notFoundLikelihood = -Math.log10(total);
+
+        if (order <= DENSE_MAX_ORDER) {
+            this.dense = new float[tableSize(order)];
+            this.sparse = null;
+            Arrays.fill(this.dense, (float) this.notFoundLikelihood);
+            for (int i = 0; i < size; i++) {
+                this.dense[codes[i]] = (float) (Math.log10(counts[i]) + this.notFoundLikelihood);
+            }
+        }
+        else {
+            this.dense = null;
+            this.sparse = new long[size];
+            for (int i = 0; i < size; i++) {
+                float likelihood = (float) (Math.log10(counts[i]) + this.notFoundLikelihood);
+                this.sparse[i] = ((long) codes[i] << 32) | (Float.floatToRawIntBits(likelihood) & 0xFFFFFFFFL);
+            }
+            // Codes are non-negative, so sorting entries sorts by code.
+            Arrays.sort(this.sparse);
+        }
+    }
+
+    /**
+     * Builds a model from a file with one n-gram and its count per line.
+     * Lines whose n-gram is not order upper-case letters are skipped, and
+     * repeated n-grams have their counts added.
+     * @param frequencies the frequency file
+     * @param order the length of the n-grams in the file
+     * @return the model
+     * @throws IOException if the file cannot be read
+     */
+    public static NGramLikelihoods fromFrequencyFile(Path frequencies, int order) throws IOException {
+        checkOrder(order);
+        Counts counts = new Counts();
+        try (BufferedReader in = Files.newBufferedReader(frequencies, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                int space = line.indexOf(' ');
+                if (space != order) {
+                    continue;
+                }
+                int code = pack(line, 0, order);
+                if (code >= 0) {
+                    counts.add(code, Long.parseLong(line.substring(space + 1).trim()));
+                }
+            }
+        }
+        counts.merge();
+        return new NGramLikelihoods(order, counts.codes, counts.counts, counts.size);
+    }
+
+    /**
+     * Builds a model by counting every n-gram of the letters of a text file.
+     * Letters are upper-cased and everything else is skipped, so n-grams run
+     * across spaces and punctuation just as the cipher scorers read text.
+     * @param corpus the text file to count
+     * @param order the length of the n-grams to count
+     * @return the model
+     * @throws IOException if the file cannot be read
+     */
+    public static NGramLikelihoods fromCorpus(Path corpus, int order) throws IOException {
+        checkOrder(order);
+        int modulus = tableSize(order - 1);
+        Counts counts = new Counts();
+        try (BufferedReader in = Files.newBufferedReader(corpus, StandardCharsets.UTF_8)) {
+            int packed = 0;
+            int run = 0;
+            int c;
+            while ((c = in.read()) >= 0) {
+                int letter = Character.toUpperCase((char) c) - 'A';
+                if (letter < 0 || letter >= QuadGramLikelihoods.ALPHABET_SIZE) {
+                    continue;
+                }
+                packed = (packed % modulus) * QuadGramLikelihoods.ALPHABET_SIZE + letter;
+                if (++run >= order) {
+                    counts.add(packed, 1);
+                }
+            }
+        }
+        counts.merge();
+        return new NGramLikelihoods(order, counts.codes, counts.counts, counts.size);
+    }
+
+    @Override
+    public int getOrder() {
+        return this.order;
+    }
+
+    @Override
+    public double get(int packed) {
+        if (this.dense != null) {
+            return this.dense[packed];
+        }
+        return find(packed);
+    }
+
+    /**
+     * Returns the log-likelihood of the provided n-gram, or the not-found
+     * likelihood if it is not getOrder() upper-case letters.
+     * @param ngram the n-gram to get the likelihood of
+     * @return the log-likelihood as calculated by this model's data set
+     */
+    public double get(String ngram) {
+        int packed = ngram.length() == this.order ? pack(ngram, 0, this.order) : -1;
+        if (packed < 0) {
+            return this.notFoundLikelihood;
+        }
+        return get(packed);
+    }
+
+    @Override
+    public double getNotFoundLikelihood() {
+        return this.notFoundLikelihood;
+    }
+
+    /**
+     * Returns the number of bytes this model's table takes up.
+     * @return the size of the table in bytes
+     */
+    public long getTableBytes() {
+        return this.dense != null ? (long) this.dense.length * Float.BYTES : (long) this.sparse.length * Long.BYTES;
+    }
+
+    // Packed n-grams are close to uniformly spread over [0, 26^n), so
+    // interpolating on the code finds the entry in a few probes; the range
+    // shrinks every probe, so it never does worse than a linear scan.
+    private double find(int packed) {
+        int low = 0;
+        int high = this.sparse.length - 1;
+        while (low <= high) {
+            long lowCode = this.sparse[low] >>> 32;
+            long highCode = this.sparse[high] >>> 32;
+            if (packed < lowCode || packed > highCode) {
+                break;
+            }
+            int mid = highCode == lowCode ? low : low + (int) ((packed - lowCode) * (high - low) / (highCode - lowCode));
+            long code = this.sparse[mid] >>> 32;
+            if (code == packed) {
+                return Float.intBitsToFloat((int) this.sparse[mid]);
+            }
+            else if (code < packed) {
+                low = mid + 1;
+            }
+            else {
+                high = mid - 1;
+            }
+        }
+        return this.notFoundLikelihood;
+    }
+
+    private static void checkOrder(int order) {
+        if (order < MIN_ORDER || order > MAX_ORDER) {
+            throw new IllegalArgumentException("n-gram order must be between " + MIN_ORDER + " and " + MAX_ORDER);
+        }
+    }
+
+    private static int tableSize(int order) {
+        int size = 1;
+        for (int i = 0; i < order; i++) {
+            size *= QuadGramLikelihoods.ALPHABET_SIZE;
+        }
+        return size;
+    }
+
+    private static int pack(String ngram, int start, int order) {
+        int packed = 0;
+        for (int i = start; i < start + order; i++) {
+            int letter = ngram.charAt(i) - 'A';
+            if (letter < 0 || letter >= QuadGramLikelihoods.ALPHABET_SIZE) {
+                return -1;
+            }
+            packed = packed * QuadGramLikelihoods.ALPHABET_SIZE + letter;
+        }
+        return packed;
+    }
+
+    // Parallel growable arrays of (code, count) pairs. merge sorts them by
+    // code and adds up the counts of repeated codes. Full arrays are merged
+    // before they grow, so counting a corpus takes memory proportional to
+    // the number of distinct n-grams rather than to the corpus length.
+    private static class Counts {
+        private int[] codes = new int[1024];
+        private long[] counts = new long[1024];
+        private int size;
+
+        private void add(int code, long count) {
+            if (this.size == this.codes.length) {
+                merge();
+                if (this.size * 2 > this.codes.length) {
+                    this.codes = Arrays.copyOf(this.codes, this.codes.length * 2);
+                    this.counts = Arrays.copyOf(this.counts, this.counts.length * 2);
+                }
+            }
+            this.codes[this.size] = code;
+            this.counts[this.size] = count;
+            this.size++;
+        }
+
+        private void merge() {
+            // Sort (code, index) pairs packed into longs, then total each run of equal codes.
+            long[] order = new long[this.size];
+            for (int i = 0; i < this.size; i++) {
+                order[i] = ((long) this.codes[i] << 32) | i;
+            }
+            Arrays.sort(order);
+
+            int[] codes = new int[this.codes.length];
+            long[] counts = new long[this.counts.length];
+            int n = 0;
+            for (int i = 0; i < this.size; i++) {
+                int code = (int) (order[i] >>> 32);
+                long count = this.counts[(int) order[i]];
+                if (n > 0 && codes[n - 1] == code) {
+                    counts[n - 1] += count;
+                }
+                else {
+                    codes[n] = code;
+                    counts[n] = count;
+                    n++;
+                }
+            }
+            this.codes = codes;
+            this.counts = counts;
+            this.size = n;
+        }
+    }
+}
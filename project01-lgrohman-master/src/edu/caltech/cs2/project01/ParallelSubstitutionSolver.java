@@ -0,0 +1,254 @@
+package edu.caltech.cs2.project01;
+
+import edu.caltech.cs2.project01.interfaces.ISearchStrategy;
+import edu.caltech.cs2.project01.interfaces.ISolverListener;
+import edu.caltech.cs2.project01.strategies.HillClimbingStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs many independent restarts of a substitution cipher search at once,
+ * keeping the best key any of them has found. Restarts use hill climbing
+ * unless another search strategy is given. Listeners hear about every
+ * restart as it finishes.
+ *
+ * Every solve starts a SplittableRandom from this solver's seed and gives
+ * each restart its own split, so restarts never share a random source and
+ * a solve run without a time budget or score threshold can be replayed
+ * exactly by a solver with the same seed.
+ *
+ * With a WordPatternIndex set, cipher texts that keep their word spaces
+ * start their first restarts from the index's seed keys instead of from
+ * random keys.
+ */
+public class ParallelSubstitutionSolver {
+    private final QuadGramLikelihoods likelihoods;
+    private final ISearchStrategy strategy;
+    private final ForkJoinPool pool;
+    private final long seed;
+    private volatile WordPatternIndex wordPatterns;
+    private final List<ISolverListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Construct a solver that hill climbs on the common ForkJoinPool.
+     * @param likelihoods the object used to find a score for a quadgram
+     */
+    public ParallelSubstitutionSolver(QuadGramLikelihoods likelihoods) {
+        this(likelihoods, new HillClimbingStrategy(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Construct a solver that runs strategy for each restart on the given pool.
+     * @param likelihoods the object used to find a score for a quadgram
+     * @param strategy the search each restart runs
+     * @param pool the pool to run restarts on
+     */
+    public ParallelSubstitutionSolver(QuadGramLikelihoods likelihoods, ISearchStrategy strategy, ForkJoinPool pool) {
+        this(likelihoods, strategy, pool, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Construct a solver that runs strategy for each restart on the given
+     * pool, with restarts drawing their random numbers from seed.
+     * @param likelihoods the object used to find a score for a quadgram
+     * @param strategy the search each restart runs
+     * @param pool the pool to run restarts on
+     * @param seed the seed every solve starts from
+     */
+    public ParallelSubstitutionSolver(QuadGramLikelihoods likelihoods, ISearchStrategy strategy, ForkJoinPool pool,
+                                      long seed) {
+        this.likelihoods = likelihoods;
+        this.strategy = strategy;
+        this.pool = pool;
+        this.seed = seed;
+    }
+
+    /**
+     * Returns the seed every solve starts from, so that a solve can be replayed.
+     * @return this solver's seed
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Sets the index used to seed the first restarts of cipher texts with spaces.
+     * @param wordPatterns the index to seed from, or null to start every restart from a random key
+     */
+    public void setWordPatternIndex(WordPatternIndex wordPatterns) {
+        this.wordPatterns = wordPatterns;
+    }
+
+    /**
+     * Adds a listener that is told about every restart this solver runs.
+     * @param listener the listener to add
+     */
+    public void addListener(ISolverListener listener) {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * Stops telling listener about restarts.
+     * @param listener the listener to remove
+     */
+    public void removeListener(ISolverListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * Runs restarts searches from random keys and returns the best result.
+     * @param ciphertext the cipher text to solve
+     * @param restarts the number of searches to run
+     * @return a SubstitutionCipher with the best key found by any restart
+     */
+    public SubstitutionCipher solve(String ciphertext, int restarts) {
+        return solve(ciphertext, restarts, Double.POSITIVE_INFINITY, Long.MAX_VALUE);
+    }
+
+    /**
+     * Runs up to restarts searches from random keys and returns the best
+     * result. Every restart stops as soon as timeBudgetMillis has passed.
+     * A restart also stops as soon as the best score it has reported reaches
+     * scoreThreshold; once any restart has, the others stop at their next
+     * check and restarts not yet started are skipped.
+     * @param ciphertext the cipher text to solve
+     * @param restarts the maximum number of searches to run
+     * @param scoreThreshold a score that is good enough to stop searching
+     * @param timeBudgetMillis the number of milliseconds to search for
+     * @return a SubstitutionCipher with the best key found by any restart
+     * @throws RuntimeException what the earliest failing restart threw, once every restart has finished
+     */
+    public SubstitutionCipher solve(String ciphertext, int restarts, double scoreThreshold, long timeBudgetMillis) {
+        if (restarts < 1 || timeBudgetMillis < 0) {
+            throw new IllegalArgumentException();
+        }
+
+        SubstitutionScorer scorer = new SubstitutionScorer(ciphertext, this.likelihoods);
+        long start = System.nanoTime();
+        long budget = timeBudgetMillis > Long.MAX_VALUE / 1_000_000 ? Long.MAX_VALUE : timeBudgetMillis * 1_000_000;
+        Search search = new Search(scorer, this.strategy, this.listeners, scoreThreshold, start, budget);
+
+        WordPatternIndex wordPatterns = this.wordPatterns;
+        int[][] seeds = wordPatterns != null && ciphertext.indexOf(' ') >= 0
+                ? wordPatterns.seedKeys(ciphertext) : new int[0][];
+
+        // Splits are taken here, in order, so restart i gets the same random
+        // numbers whichever thread runs it.
+        SplittableRandom random = new SplittableRandom(this.seed);
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < restarts; i++) {
+            int restart = i;
+            int[] key = i < seeds.length ? seeds[i] : null;
+            SplittableRandom split = random.split();
+            tasks.add(() -> {
+                search.restart(restart, key, split);
+                return null;
+            });
+        }
+        for (Future<Void> future : this.pool.invokeAll(tasks)) {
+            try {
+                future.get();
+            }
+            catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+
+        return new SubstitutionCipher(ciphertext, SubstitutionScorer.toMap(search.best.get().key));
+    }
+
+    private static class Result {
+        private final double score;
+        private final int[] key;
+        private final int restart;
+
+        private Result(double score, int[] key, int restart) {
+            this.score = score;
+            this.key = key;
+            this.restart = restart;
+        }
+
+        // Ties go to the earlier restart, so the winner does not depend on
+        // which restart happened to finish first.
+        private boolean beats(Result other) {
+            return this.score > other.score || (this.score == other.score && this.restart < other.restart);
+        }
+    }
+
+    private static class Search {
+        private final SubstitutionScorer scorer;
+        private final ISearchStrategy strategy;
+        private final List<ISolverListener> listeners;
+        private final double scoreThreshold;
+        private final long start;
+        private final long budget;
+        private final AtomicReference<Result> best;
+        private volatile boolean done;
+
+        private Search(SubstitutionScorer scorer, ISearchStrategy strategy, List<ISolverListener> listeners,
+                       double scoreThreshold, long start, long budget) {
+            this.scorer = scorer;
+            this.strategy = strategy;
+            this.listeners = listeners;
+            this.scoreThreshold = scoreThreshold;
+            this.start = start;
+            this.budget = budget;
+            int[] identity = SubstitutionScorer.identityKey();
+            this.best = new AtomicReference<>(new Result(scorer.score(identity), identity, Integer.MAX_VALUE));
+        }
+
+        // Searches from key, or from a random key if key is null.
+        private void restart(int restart, int[] key, SplittableRandom random) {
+            if (this.done) {
+                return;
+            }
+
+            if (key == null) {
+                key = SubstitutionScorer.randomKey(random);
+            }
+
+            SearchStats stats = new SearchStats(restart);
+            double score = this.strategy.search(this.scorer, key, random, () -> shouldStop(stats), stats);
+            for (ISolverListener listener : this.listeners) {
+                listener.onSearchFinished(stats);
+            }
+
+            Result result = new Result(score, key, restart);
+            Result winner = this.best.accumulateAndGet(result, (current, candidate) -> candidate.beats(current) ? candidate : current);
+            if (winner.score >= this.scoreThreshold) {
+                this.done = true;
+            }
+        }
+
+        // Checked by a running restart, whose progress so far is in stats.
+        // The threshold is compared against both that restart's best score
+        // and the best score any finished restart has published in best.
+        private boolean shouldStop(SearchStats stats) {
+            if (!this.done && (stats.getBestScore() >= this.scoreThreshold
+                    || this.best.get().score >= this.scoreThreshold
+                    || System.nanoTime() - this.start >= this.budget)) {
+                this.done = true;
+            }
+            return this.done;
+        }
+    }
+}
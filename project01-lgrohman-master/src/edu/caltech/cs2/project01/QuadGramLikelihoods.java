@@ -1,13 +1,39 @@
 package edu.caltech.cs2.project01;
 
+import edu.caltech.cs2.project01.interfaces.ILanguageModel;
+
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Scanner;
 
-public class QuadGramLikelihoods {
-    private Map<String, Double> likelihoods;
+public class QuadGramLikelihoods implements ILanguageModel {
+    public static final int ALPHABET_SIZE = 26;
+    public static final int TABLE_SIZE = ALPHABET_SIZE * ALPHABET_SIZE * ALPHABET_SIZE * ALPHABET_SIZE;
+
+    // Layout of a compiled model: magic, version, table size, padding,
+    // not-found likelihood, then TABLE_SIZE likelihoods, all little-endian.
+    public static final int MODEL_MAGIC = 0x5147524D;
+    public static final int MODEL_VERSION = 1;
+    public static final int MODEL_HEADER_BYTES = 24;
+    public static final ByteOrder MODEL_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    // A model parsed from english_quadgrams.txt lives in table; a compiled
+    // model stays in its mapping, and table is null.
+    private double[] table;
+    private DoubleBuffer mapped;
+    // A compiled model's mapping gathered into an array by sharedArray.
+    private volatile double[] gathered;
     private double notFoundLikelihood;
 
     public QuadGramLikelihoods() throws FileNotFoundException {
@@ -19,10 +45,54 @@ public class QuadGramLikelihoods {
         }
 
         this.notFoundLikelihood = -Math.log10(total);
-        this.likelihoods = new HashMap<>();
+        double[] table = new double[TABLE_SIZE];
+        Arrays.fill(table, this.notFoundLikelihood);
         for (Map.Entry<String, Integer> qg : freqs.entrySet()) {
-            this.likelihoods.put(qg.getKey(), Math.log10(qg.getValue()) + this.notFoundLikelihood);
+            int packed = pack(qg.getKey());
+            if (packed >= 0) {
+                table[packed] = Math.log10(qg.getValue()) + this.notFoundLikelihood;
+            }
         }
+        this.table = table;
+    }
+
+    /**
+     * Opens a model written by QuadGramModelCompiler. The file is memory-mapped
+     * rather than read, so opening is nearly free and every process that maps
+     * the same file shares one copy of it in the page cache.
+     * @param model the path of the compiled model
+     * @throws IOException if the model cannot be read or is not a compiled model
+     */
+    public QuadGramLikelihoods(Path model) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(model, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(MODEL_ORDER);
+
+        if (buffer.capacity() != MODEL_HEADER_BYTES + (long) TABLE_SIZE * Double.BYTES
+                || buffer.getInt(0) != MODEL_MAGIC
+                || buffer.getInt(4) != MODEL_VERSION
+                || buffer.getInt(8) != TABLE_SIZE) {
+            throw new IOException("Not a compiled quad-gram model: " + model);
+        }
+
+        this.notFoundLikelihood = buffer.getDouble(16);
+        this.mapped = buffer.position(MODEL_HEADER_BYTES).slice().order(MODEL_ORDER).asDoubleBuffer();
+    }
+
+    /**
+     * Loads the compiled model at modelPath if it exists, and otherwise parses
+     * english_quadgrams.txt.
+     * @param modelPath the path a compiled model would be found at
+     * @return the loaded likelihoods
+     * @throws IOException if the model or the text file cannot be read
+     */
+    public static QuadGramLikelihoods load(Path modelPath) throws IOException {
+        if (Files.isReadable(modelPath)) {
+            return new QuadGramLikelihoods(modelPath);
+        }
+        return new QuadGramLikelihoods();
     }
 
     public static Map<String, Integer> getQuadFrequencies() throws FileNotFoundException {
@@ -35,12 +105,129 @@ public class QuadGramLikelihoods {
         return freqs;
     }
 
+    /**
+     * Packs four letter indices (0 for 'A' through 25 for 'Z') into a single
+     * table index. The first letter is the most significant digit, so
+     * pack(0, 0, 0, 1) is "AAAB" and pack(25, 25, 25, 25) is "ZZZZ".
+     * @param a the index of the first letter
+     * @param b the index of the second letter
+     * @param c the index of the third letter
+     * @param d the index of the fourth letter
+     * @return the packed quad-gram, suitable for get(int)
+     */
+    public static int pack(int a, int b, int c, int d) {
+        return ((a * ALPHABET_SIZE + b) * ALPHABET_SIZE + c) * ALPHABET_SIZE + d;
+    }
+
+    /**
+     * Returns the packed form of the provided quad-gram, or -1 if it is not
+     * made up of exactly four upper-case letters.
+     * @param quadgram the quad-gram to pack
+     * @return the packed quad-gram or -1
+     */
+    public static int pack(String quadgram) {
+        if (quadgram.length() != 4) {
+            return -1;
+        }
+        int packed = 0;
+        for (int i = 0; i < 4; i++) {
+            int letter = quadgram.charAt(i) - 'A';
+            if (letter < 0 || letter >= ALPHABET_SIZE) {
+                return -1;
+            }
+            packed = packed * ALPHABET_SIZE + letter;
+        }
+        return packed;
+    }
+
+    /**
+     * Slides a packed quad-gram one letter to the right: the first letter is
+     * dropped and letter is appended as the new last letter.
+     * For example, shift(pack("TION"), 'S' - 'A') returns pack("IONS").
+     * @param packed the packed quad-gram to slide
+     * @param letter the index of the letter to append
+     * @return the packed quad-gram of the new window
+     */
+    public static int shift(int packed, int letter) {
+        return (packed % (ALPHABET_SIZE * ALPHABET_SIZE * ALPHABET_SIZE)) * ALPHABET_SIZE + letter;
+    }
+
     /**
      * Returns the log-likelihood of the provided quad-gram.
      * @param quadgram the quad-gram to get the likelihood of
      * @return the log-likelihood as calculated by our data set
      */
     public double get(String quadgram) {
-        return this.likelihoods.getOrDefault(quadgram, this.notFoundLikelihood);
+        int packed = pack(quadgram);
+        if (packed < 0) {
+            return this.notFoundLikelihood;
+        }
+        return get(packed);
+    }
+
+    /**
+     * Returns the log-likelihood of the provided packed quad-gram. This does
+     * not allocate, so it is the lookup to use on hot scoring paths.
+     * @param packedQuad a quad-gram packed by pack or shift
+     * @return the log-likelihood as calculated by our data set
+     */
+    @Override
+    public double get(int packedQuad) {
+        if (this.table != null) {
+            return this.table[packedQuad];
+        }
+        return this.mapped.get(packedQuad);
+    }
+
+    /**
+     * Returns a copy of the whole likelihood table, indexed by packed
+     * quad-gram, for code that needs the table as an array.
+     * @return a new array of TABLE_SIZE log-likelihoods
+     */
+    public double[] toArray() {
+        if (this.table != null) {
+            return this.table.clone();
+        }
+        double[] table = new double[TABLE_SIZE];
+        this.mapped.get(0, table);
+        return table;
+    }
+
+    /**
+     * Returns the whole likelihood table as one array shared by every caller,
+     * for code that needs an array and only reads it. A parsed model returns
+     * its own table; a compiled model gathers its mapping into an array the
+     * first time this is called and returns that array from then on.
+     * @return the TABLE_SIZE log-likelihoods, which must not be modified
+     */
+    double[] sharedArray() {
+        if (this.table != null) {
+            return this.table;
+        }
+        double[] gathered = this.gathered;
+        if (gathered == null) {
+            synchronized (this) {
+                gathered = this.gathered;
+                if (gathered == null) {
+                    gathered = toArray();
+                    this.gathered = gathered;
+                }
+            }
+        }
+        return gathered;
+    }
+
+    @Override
+    public int getOrder() {
+        return 4;
+    }
+
+    /**
+     * Returns the log-likelihood used for quad-grams that never appear in our data set.
+     * @return the log-likelihood of an unseen quad-gram
+     */
+    @Override
+    public double getNotFoundLikelihood() {
+        return this.notFoundLikelihood;
     }
 }
@@ -0,0 +1,73 @@
+package edu.caltech.cs2.project01;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+public class QuadGramModelCompiler {
+    public static final String DEFAULT_MODEL = "english_quadgrams.bin";
+
+    /**
+     * Writes likelihoods to out in the binary layout read by
+     * QuadGramLikelihoods(Path): a short header followed by the dense
+     * likelihood table. The model is written to a temporary file next to
+     * out and then moved over it atomically, so a JVM that already has out
+     * mapped keeps reading the old model instead of a half-written one.
+     * @param likelihoods the likelihoods to write
+     * @param out the path to write the compiled model to
+     * @throws IOException if the model cannot be written
+     */
+    public static void compile(QuadGramLikelihoods likelihoods, Path out) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(QuadGramLikelihoods.MODEL_HEADER_BYTES)
+                .order(QuadGramLikelihoods.MODEL_ORDER);
+        header.putInt(QuadGramLikelihoods.MODEL_MAGIC);
+        header.putInt(QuadGramLikelihoods.MODEL_VERSION);
+        header.putInt(QuadGramLikelihoods.TABLE_SIZE);
+        header.putInt(0);
+        header.putDouble(likelihoods.getNotFoundLikelihood());
+        header.flip();
+
+        ByteBuffer table = ByteBuffer.allocate(QuadGramLikelihoods.TABLE_SIZE * Double.BYTES)
+                .order(QuadGramLikelihoods.MODEL_ORDER);
+        for (int i = 0; i < QuadGramLikelihoods.TABLE_SIZE; i++) {
+            table.putDouble(likelihoods.get(i));
+        }
+        table.flip();
+
+        Path directory = out.toAbsolutePath().getParent();
+        // Not Files.createTempFile, which would leave the model readable only by its owner.
+        Path temp = directory.resolve(out.getFileName() + "." + ProcessHandle.current().pid()
+                + "." + System.nanoTime() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.WRITE)) {
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+                while (table.hasRemaining()) {
+                    channel.write(table);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, out, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Compiles english_quadgrams.txt into a binary model. The output path
+     * may be given as the first argument and defaults to english_quadgrams.bin.
+     */
+    public static void main(String[] args) throws IOException {
+        Path out = Paths.get(args != null && args.length > 0 ? args[0] : DEFAULT_MODEL);
+        compile(new QuadGramLikelihoods(), out);
+        System.out.println("Wrote " + out);
+    }
+}
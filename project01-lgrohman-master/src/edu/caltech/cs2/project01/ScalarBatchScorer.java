@@ -0,0 +1,27 @@
+package edu.caltech.cs2.project01;
+
+import edu.caltech.cs2.project01.interfaces.IBatchScorer;
+
+/**
+ * Scores a batch of keys one at a time with a SubstitutionScorer. This is
+ * what IBatchScorer.create falls back to when the Vector API is missing.
+ */
+public class ScalarBatchScorer implements IBatchScorer {
+    private final SubstitutionScorer scorer;
+
+    /**
+     * Construct a batch scorer for the given cipher text.
+     * @param ciphertext the cipher text keys will be scored against
+     * @param likelihoods the object used to find a score for a quadgram
+     */
+    public ScalarBatchScorer(String ciphertext, QuadGramLikelihoods likelihoods) {
+        this.scorer = new SubstitutionScorer(ciphertext, likelihoods);
+    }
+
+    @Override
+    public void score(int[][] keys, double[] scores) {
+        for (int i = 0; i < keys.length; i++) {
+            scores[i] = this.scorer.score(keys[i]);
+        }
+    }
+}
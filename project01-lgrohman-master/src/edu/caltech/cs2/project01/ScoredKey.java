@@ -0,0 +1,74 @@
+package edu.caltech.cs2.project01;
+
+/**
+ * A key being searched from, together with the score of every n-gram of the
+ * cipher text under it. Built by SubstitutionScorer.track.
+ *
+ * The packed code and score of every n-gram are kept, so swapDelta only
+ * shifts the codes of the n-grams a swap would change and looks those up;
+ * the n-grams it would replace are never re-packed or looked up again. The
+ * kept codes and scores only change when a swap is actually made, and
+ * searches try far more swaps than they make.
+ *
+ * swapDelta only reads, so any number of threads may call it at once, but
+ * not while another thread calls swap. The key array passed to track is the
+ * one swapped here and returned by getKey; changing it any other way leaves
+ * the stored scores stale.
+ */
+public class ScoredKey {
+    private final SubstitutionScorer scorer;
+    private final int[] key;
+    private final int[] codes;
+    private final double[] scores;
+    private double score;
+
+    ScoredKey(SubstitutionScorer scorer, int[] key, int[] codes, double[] scores, double score) {
+        this.scorer = scorer;
+        this.key = key;
+        this.codes = codes;
+        this.scores = scores;
+        this.score = score;
+    }
+
+    /**
+     * Returns the tracked key. It must not be modified except through swap.
+     * @return the key
+     */
+    public int[] getKey() {
+        return this.key;
+    }
+
+    /**
+     * Returns the score of the key, kept up to date by adding the delta of
+     * every swap made.
+     * @return the score of the key
+     */
+    public double getScore() {
+        return this.score;
+    }
+
+    /**
+     * Returns how much the score would change if the plain text letters of
+     * cipher letters a and b were exchanged, without exchanging them.
+     * @param a the first cipher letter to swap
+     * @param b the second cipher letter to swap
+     * @return the score with a and b swapped minus the current score
+     */
+    public double swapDelta(int a, int b) {
+        return this.scorer.swapWindows(this.key, a, b, this.codes, this.scores, false);
+    }
+
+    /**
+     * Exchanges the plain text letters of cipher letters a and b, updating
+     * the scores of the n-grams that contain them.
+     * @param a the first cipher letter to swap
+     * @param b the second cipher letter to swap
+     * @return how much the score changed
+     */
+    public double swap(int a, int b) {
+        double delta = this.scorer.swapWindows(this.key, a, b, this.codes, this.scores, true);
+        SubstitutionScorer.swap(this.key, a, b);
+        this.score += delta;
+        return delta;
+    }
+}
@@ -0,0 +1,156 @@
+package edu.caltech.cs2.project01;
+
+import java.util.Arrays;
+
+/**
+ * What one search did: how many swaps it tried and kept, how many swaps it
+ * scored, how long it ran, and a convergence trace of the best score seen
+ * against the number of swaps tried.
+ *
+ * A SearchStats belongs to one search and is only touched by the thread
+ * running it. Strategies count in local variables and report in bulk, so
+ * keeping stats costs a few field writes per search rather than per swap.
+ * The trace keeps at most MAX_TRACE_POINTS points; once it is full every
+ * other point is dropped and points are recorded half as often.
+ */
+public class SearchStats {
+    public static final int MAX_TRACE_POINTS = 256;
+
+    private final int restart;
+    private long swapsTried;
+    private long swapsAccepted;
+    private long evaluations;
+    private double startScore = Double.NaN;
+    private double finalScore = Double.NaN;
+    private double bestScore = Double.NaN;
+    private long startNanos;
+    private long elapsedNanos;
+
+    private long[] traceIterations = new long[16];
+    private double[] traceScores = new double[16];
+    private int traceSize;
+    private int traceStride = 1;
+    private long improvements;
+
+    /**
+     * Construct empty stats for a search.
+     * @param restart the number of the restart the search runs for
+     */
+    public SearchStats(int restart) {
+        this.restart = restart;
+    }
+
+    /**
+     * Records that the search is starting from a key with the given score.
+     * @param score the score of the starting key
+     */
+    public void begin(double score) {
+        this.startScore = score;
+        this.startNanos = System.nanoTime();
+        improved(0, score);
+    }
+
+    /**
+     * Adds to the counters of this search.
+     * @param tried the number of swaps tried
+     * @param accepted how many of them were kept
+     * @param evaluations the number of swaps scored
+     */
+    public void count(long tried, long accepted, long evaluations) {
+        this.swapsTried += tried;
+        this.swapsAccepted += accepted;
+        this.evaluations += evaluations;
+    }
+
+    /**
+     * Adds a point to the convergence trace. Called when the search finds a
+     * new best score.
+     * @param iteration the number of swaps tried so far
+     * @param score the new best score
+     */
+    public void improved(long iteration, double score) {
+        if (!(score <= this.bestScore)) {
+            this.bestScore = score;
+        }
+        if (this.improvements++ % this.traceStride != 0) {
+            return;
+        }
+        if (this.traceSize == MAX_TRACE_POINTS) {
+            for (int i = 0; i < this.traceSize / 2; i++) {
+                this.traceIterations[i] = this.traceIterations[2 * i];
+                this.traceScores[i] = this.traceScores[2 * i];
+            }
+            this.traceSize /= 2;
+            this.traceStride *= 2;
+        }
+        else if (this.traceSize == this.traceIterations.length) {
+            this.traceIterations = Arrays.copyOf(this.traceIterations, this.traceSize * 2);
+            this.traceScores = Arrays.copyOf(this.traceScores, this.traceSize * 2);
+        }
+        this.traceIterations[this.traceSize] = iteration;
+        this.traceScores[this.traceSize] = score;
+        this.traceSize++;
+    }
+
+    /**
+     * Records that the search has finished with a key with the given score.
+     * @param score the score of the key the search returns
+     */
+    public void end(double score) {
+        this.finalScore = score;
+        this.elapsedNanos = System.nanoTime() - this.startNanos;
+    }
+
+    public int getRestart() {
+        return this.restart;
+    }
+
+    public long getSwapsTried() {
+        return this.swapsTried;
+    }
+
+    public long getSwapsAccepted() {
+        return this.swapsAccepted;
+    }
+
+    public long getEvaluations() {
+        return this.evaluations;
+    }
+
+    public double getStartScore() {
+        return this.startScore;
+    }
+
+    public double getFinalScore() {
+        return this.finalScore;
+    }
+
+    /**
+     * Returns the best score the search has reported so far, including
+     * points the trace has dropped.
+     * @return the best score passed to begin or improved, or NaN before begin
+     */
+    public double getBestScore() {
+        return this.bestScore;
+    }
+
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    /**
+     * Returns the iterations of the convergence trace, oldest first.
+     * @return the number of swaps tried at each trace point
+     */
+    public long[] getTraceIterations() {
+        return Arrays.copyOf(this.traceIterations, this.traceSize);
+    }
+
+    /**
+     * Returns the scores of the convergence trace, oldest first.
+     * @return the best score seen at each trace point
+     */
+    public double[] getTraceScores() {
+        return Arrays.copyOf(this.traceScores, this.traceSize);
+    }
+}
@@ -0,0 +1,293 @@
+package edu.caltech.cs2.project01;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * A bounded, least recently used cache of solved substitution keys.
+ *
+ * Cipher texts are keyed by their canonical form, in which each letter is
+ * replaced by the order of its first appearance ("XQX Y" and "ABA C" are
+ * both "ABA C"). Two cipher texts with the same canonical form are the same
+ * plain text under different keys, so a key solved for one is remapped to
+ * the other's alphabet without searching again.
+ *
+ * The cache may be shared by any number of threads. A cipher text looked
+ * up with getKey while another thread is already solving one with the same
+ * canonical form waits for that solve instead of starting its own.
+ */
+public class SolutionCache {
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final int capacity;
+    // Maps a canonical form to the plain text letter of each canonical letter.
+    private final LinkedHashMap<String, int[]> entries;
+    // Solves under way, by canonical form; guarded by this, like entries.
+    private final Map<String, CompletableFuture<int[]>> solving = new HashMap<>();
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public SolutionCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Construct an empty cache.
+     * @param capacity the most cipher texts the cache holds before it evicts the least recently used
+     */
+    public SolutionCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, int[]> eldest) {
+                if (size() > SolutionCache.this.capacity) {
+                    SolutionCache.this.evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the canonical form of ciphertext: every upper-case letter is
+     * replaced by 'A' for the first distinct letter to appear, 'B' for the
+     * second and so on. Everything else is left as is.
+     * @param ciphertext the text to canonicalize
+     * @return the canonical form
+     */
+    public static String canonicalForm(String ciphertext) {
+        int[] canonical = new int[QuadGramLikelihoods.ALPHABET_SIZE];
+        int distinct = 0;
+        char[] form = ciphertext.toCharArray();
+        for (int i = 0; i < form.length; i++) {
+            int letter = form[i] - 'A';
+            if (letter >= 0 && letter < QuadGramLikelihoods.ALPHABET_SIZE) {
+                if (canonical[letter] == 0) {
+                    canonical[letter] = ++distinct;
+                }
+                form[i] = (char) ('A' + canonical[letter] - 1);
+            }
+        }
+        return new String(form);
+    }
+
+    /**
+     * Returns the key for ciphertext if a cipher text with the same
+     * canonical form has been solved, remapped to ciphertext's letters.
+     * Letters that do not appear in ciphertext are mapped to the unused
+     * plain text letters, in order, so the key is always a permutation.
+     * @param ciphertext the cipher text to look up
+     * @return an int[26] key as used by SubstitutionScorer, or null if there is none
+     */
+    public int[] get(String ciphertext) {
+        String form = canonicalForm(ciphertext);
+        int[] plain;
+        synchronized (this) {
+            plain = this.entries.get(form);
+            if (plain == null) {
+                this.misses++;
+                return null;
+            }
+            this.hits++;
+        }
+        return remap(ciphertext, plain);
+    }
+
+    /**
+     * Records key as the solution of ciphertext, and so of every cipher
+     * text with the same canonical form.
+     * @param ciphertext the solved cipher text
+     * @param key the int[26] key that solves it
+     */
+    public void put(String ciphertext, int[] key) {
+        int[] entry = plainLetters(ciphertext, key);
+        String form = canonicalForm(ciphertext);
+        synchronized (this) {
+            this.entries.put(form, entry);
+        }
+    }
+
+    /**
+     * Returns the key for ciphertext as get does if a cipher text with the
+     * same canonical form has been solved. Otherwise, if another thread is
+     * solving one, waits for it and remaps its key; if not, runs solver on
+     * ciphertext and caches its key. Both waiting and cached lookups count
+     * as hits, so only the lookups that run solver count as misses.
+     * @param ciphertext the cipher text to look up
+     * @param solver returns an int[26] key that solves the cipher text it is given
+     * @return an int[26] key as used by SubstitutionScorer
+     * @throws RuntimeException what solver threw, in this thread and every thread waiting on it
+     */
+    public int[] getKey(String ciphertext, Function<String, int[]> solver) {
+        String form = canonicalForm(ciphertext);
+        CompletableFuture<int[]> solve = new CompletableFuture<>();
+        CompletableFuture<int[]> pending;
+        synchronized (this) {
+            int[] plain = this.entries.get(form);
+            if (plain != null) {
+                this.hits++;
+                return remap(ciphertext, plain);
+            }
+            pending = this.solving.putIfAbsent(form, solve);
+            if (pending != null) {
+                this.hits++;
+            }
+            else {
+                this.misses++;
+            }
+        }
+
+        if (pending != null) {
+            try {
+                return remap(ciphertext, pending.join());
+            }
+            catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw e;
+            }
+        }
+
+        int[] plain;
+        try {
+            plain = plainLetters(ciphertext, solver.apply(ciphertext));
+        }
+        catch (RuntimeException | Error e) {
+            synchronized (this) {
+                this.solving.remove(form);
+            }
+            solve.completeExceptionally(e);
+            throw e;
+        }
+        synchronized (this) {
+            this.entries.put(form, plain);
+            this.solving.remove(form);
+        }
+        solve.complete(plain);
+        return remap(ciphertext, plain);
+    }
+
+    /**
+     * Returns a solution of ciphertext from the cache, or hill climbs for
+     * one with SubstitutionCipher.getSolution and caches it, as getKey does.
+     * @param ciphertext the cipher text to solve
+     * @param likelihoods the object used to find a score for a quadgram
+     * @return a SubstitutionCipher with ciphertext and its best known key
+     */
+    public SubstitutionCipher getSolution(String ciphertext, QuadGramLikelihoods likelihoods) {
+        int[] key = getKey(ciphertext, text -> {
+            // getSolution starts from its own random key, so the key it is
+            // built with only has to be cheap.
+            SubstitutionCipher start = new SubstitutionCipher(text, SubstitutionScorer.toMap(SubstitutionScorer.identityKey()));
+            // Read the key back off the plain text; only letters that appear matter.
+            String plaintext = start.getSolution(likelihoods).getPlainText();
+            int[] solved = SubstitutionScorer.identityKey();
+            for (int i = 0; i < text.length(); i++) {
+                int letter = text.charAt(i) - 'A';
+                if (letter >= 0 && letter < QuadGramLikelihoods.ALPHABET_SIZE) {
+                    solved[letter] = plaintext.charAt(i) - 'A';
+                }
+            }
+            return solved;
+        });
+        return new SubstitutionCipher(ciphertext, SubstitutionScorer.toMap(key));
+    }
+
+    // Returns the plain text letter of each distinct letter of ciphertext under key, in order of first appearance.
+    private static int[] plainLetters(String ciphertext, int[] key) {
+        int[] canonical = new int[QuadGramLikelihoods.ALPHABET_SIZE];
+        int[] plain = new int[QuadGramLikelihoods.ALPHABET_SIZE];
+        int distinct = 0;
+        for (int i = 0; i < ciphertext.length(); i++) {
+            int letter = ciphertext.charAt(i) - 'A';
+            if (letter >= 0 && letter < QuadGramLikelihoods.ALPHABET_SIZE && canonical[letter] == 0) {
+                canonical[letter] = ++distinct;
+                plain[distinct - 1] = key[letter];
+            }
+        }
+        int[] entry = new int[distinct];
+        System.arraycopy(plain, 0, entry, 0, distinct);
+        return entry;
+    }
+
+    // Builds a full key for ciphertext from the plain letters of its distinct letters.
+    private static int[] remap(String ciphertext, int[] plain) {
+        int[] key = new int[QuadGramLikelihoods.ALPHABET_SIZE];
+        boolean[] mapped = new boolean[QuadGramLikelihoods.ALPHABET_SIZE];
+        boolean[] used = new boolean[QuadGramLikelihoods.ALPHABET_SIZE];
+        int distinct = 0;
+        for (int i = 0; i < ciphertext.length() && distinct < plain.length; i++) {
+            int letter = ciphertext.charAt(i) - 'A';
+            if (letter >= 0 && letter < QuadGramLikelihoods.ALPHABET_SIZE && !mapped[letter]) {
+                key[letter] = plain[distinct++];
+                mapped[letter] = true;
+                used[key[letter]] = true;
+            }
+        }
+        int next = 0;
+        for (int letter = 0; letter < key.length; letter++) {
+            if (!mapped[letter]) {
+                while (used[next]) {
+                    next++;
+                }
+                key[letter] = next;
+                used[next] = true;
+            }
+        }
+        return key;
+    }
+
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    public synchronized long getHits() {
+        return this.hits;
+    }
+
+    public synchronized long getMisses() {
+        return this.misses;
+    }
+
+    public synchronized long getEvictions() {
+        return this.evictions;
+    }
+
+    /**
+     * Returns the fraction of lookups that found a solution.
+     * @return hits / (hits + misses), or 0 if there have been no lookups
+     */
+    public synchronized double getHitRate() {
+        long lookups = this.hits + this.misses;
+        return lookups == 0 ? 0.0 : (double) this.hits / lookups;
+    }
+
+    /**
+     * Removes every cached solution and sets the statistics back to zero.
+     */
+    public synchronized void clear() {
+        this.entries.clear();
+        this.hits = 0;
+        this.misses = 0;
+        this.evictions = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("cache: %d entries, %d hits, %d misses, %.1f%% hit rate, %d evictions",
+                this.entries.size(), this.hits, this.misses, 100 * getHitRate(), this.evictions);
+    }
+}
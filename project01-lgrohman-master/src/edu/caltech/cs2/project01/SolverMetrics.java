@@ -0,0 +1,117 @@
+package edu.caltech.cs2.project01;
+
+import edu.caltech.cs2.project01.interfaces.ISolverListener;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A listener that adds up the stats of every search it hears about: swaps
+ * tried and accepted, swaps scored, and a histogram of how long searches
+ * took. Counters are LongAdders and the histogram has one bucket per power
+ * of two nanoseconds, so searches on many threads can report at once
+ * without contending.
+ */
+public class SolverMetrics implements ISolverListener {
+    private static final int BUCKETS = 64;
+
+    private final LongAdder searches = new LongAdder();
+    private final LongAdder swapsTried = new LongAdder();
+    private final LongAdder swapsAccepted = new LongAdder();
+    private final LongAdder evaluations = new LongAdder();
+    private final LongAdder searchNanos = new LongAdder();
+    // searchTimes[i] counts searches that took less than 2^i nanoseconds, but at least 2^(i - 1).
+    private final AtomicLongArray searchTimes = new AtomicLongArray(BUCKETS);
+
+    @Override
+    public void onSearchFinished(SearchStats stats) {
+        this.searches.increment();
+        this.swapsTried.add(stats.getSwapsTried());
+        this.swapsAccepted.add(stats.getSwapsAccepted());
+        this.evaluations.add(stats.getEvaluations());
+        this.searchNanos.add(stats.getElapsedNanos());
+        this.searchTimes.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(Math.max(0, stats.getElapsedNanos())));
+    }
+
+    public long getSearches() {
+        return this.searches.sum();
+    }
+
+    public long getSwapsTried() {
+        return this.swapsTried.sum();
+    }
+
+    public long getSwapsAccepted() {
+        return this.swapsAccepted.sum();
+    }
+
+    public long getEvaluations() {
+        return this.evaluations.sum();
+    }
+
+    /**
+     * Returns the fraction of tried swaps that were kept.
+     * @return swaps accepted / swaps tried, or 0 if none were tried
+     */
+    public double getAcceptanceRate() {
+        long tried = getSwapsTried();
+        return tried == 0 ? 0.0 : (double) getSwapsAccepted() / tried;
+    }
+
+    /**
+     * Returns how many swaps were scored per second of search. Time is
+     * summed over searches, so this is the rate of one thread.
+     * @return swaps scored per second
+     */
+    public double getEvaluationsPerSecond() {
+        long nanos = this.searchNanos.sum();
+        return nanos == 0 ? 0.0 : getEvaluations() * 1e9 / nanos;
+    }
+
+    /**
+     * Returns an upper bound on the time taken by the given fraction of
+     * searches, accurate to within a factor of two.
+     * @param fraction the fraction of searches, from 0 to 1
+     * @return the search time in nanoseconds that fraction of searches took at most
+     */
+    public long getSearchNanosPercentile(double fraction) {
+        if (fraction < 0 || fraction > 1) {
+            throw new IllegalArgumentException();
+        }
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += this.searchTimes.get(i);
+        }
+        long rank = (long) Math.ceil(fraction * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += this.searchTimes.get(i);
+            if (seen >= rank && seen > 0) {
+                return i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Sets every counter and the histogram back to zero.
+     */
+    public void reset() {
+        this.searches.reset();
+        this.swapsTried.reset();
+        this.swapsAccepted.reset();
+        this.evaluations.reset();
+        this.searchNanos.reset();
+        for (int i = 0; i < BUCKETS; i++) {
+            this.searchTimes.set(i, 0);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d searches, %d swaps tried, %.1f%% accepted, %.0f evaluations/sec, "
+                        + "search time p50 <= %.3f ms, p99 <= %.3f ms",
+                getSearches(), getSwapsTried(), 100 * getAcceptanceRate(), getEvaluationsPerSecond(),
+                getSearchNanosPercentile(0.5) / 1e6, getSearchNanosPercentile(0.99) / 1e6);
+    }
+}
@@ -1,25 +1,32 @@
 package edu.caltech.cs2.project01;
 
+import edu.caltech.cs2.project01.interfaces.ISearchStrategy;
+import edu.caltech.cs2.project01.interfaces.ISolverListener;
+
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 public class SubstitutionCipher {
     private String ciphertext;
     private Map<Character, Character> key;
+    // Built from key the first time it is needed; a cipher's key never changes after that.
+    private SubstitutionRenderer renderer;
 
     // Use this Random object to generate random numbers in your code,
     // but do not modify this line.
     private static final Random RANDOM = new Random();
 
     /**
-     * Construct a SubstitutionCipher with the given cipher text and key
+     * Construct a SubstitutionCipher with the given cipher text and key.
+     * The key is copied, so later changes to the map do not change this cipher.
      * @param ciphertext the cipher text for this substitution cipher
      * @param key the map from cipher text characters to plaintext characters
      */
     public SubstitutionCipher(String ciphertext, Map<Character, Character> key) {
         this.ciphertext = ciphertext;
-        this.key = key;
+        this.key = new HashMap<>(key);
     }
 
     /**
@@ -56,12 +63,11 @@ public class SubstitutionCipher {
      * @return the resulting plain text after the transformation using the key
      */
     public String getPlainText() {
-        String text = "";
-        for (int i = 0; i < this.ciphertext.length(); i++) {
-            char c = this.ciphertext.charAt(i);
-            text += Character.toString(this.key.get(c));
+        // Characters the key does not map, such as spaces, are left as is.
+        if (this.renderer == null) {
+            this.renderer = new SubstitutionRenderer(this.key);
         }
-        return text;
+        return this.renderer.render(this.ciphertext);
     }
 
     /**
@@ -91,16 +97,28 @@ public class SubstitutionCipher {
      * Returns the "score" for the "plain text" for this cipher.
      * The score for each individual quadgram is calculated by
      * the provided likelihoods object. The total score for the text is just
-     * the sum of these scores.
+     * the sum of these scores. Characters the key does not map to an
+     * upper-case letter, such as spaces, are skipped, so quadgrams run
+     * across them; this is the score SubstitutionScorer.score gives.
      * @param likelihoods the object used to find a score for a quadgram
      * @return the score of the plain text as calculated by likelihoods
      */
     public double getScore(QuadGramLikelihoods likelihoods) {
-        String text = this.getPlainText();
+        // Roll a packed quad-gram along the plain text instead of building
+        // it; letters counts how many plain text letters have been rolled in.
         double score = 0.0;
-        for (int i = 0; i <= text.length() - 4; i++) {
-            String quad = text.substring(i, i + 4);
-            score += likelihoods.get(quad);
+        int packed = 0;
+        int letters = 0;
+        for (int i = 0; i < this.ciphertext.length(); i++) {
+            Character c = this.key.get(this.ciphertext.charAt(i));
+            int letter = c == null ? -1 : c - 'A';
+            if (letter >= 0 && letter < QuadGramLikelihoods.ALPHABET_SIZE) {
+                packed = QuadGramLikelihoods.shift(packed, letter);
+                letters++;
+                if (letters >= 4) {
+                    score += likelihoods.get(packed);
+                }
+            }
         }
         return score;
     }
@@ -114,19 +132,104 @@ public class SubstitutionCipher {
      *  found through hill climbing
      */
     public SubstitutionCipher getSolution(QuadGramLikelihoods likelihoods) {
-        SubstitutionCipher sc = new SubstitutionCipher(this.ciphertext);
+        return getSolution(likelihoods, ISolverListener.NONE);
+    }
+
+    /**
+     * Attempt to solve this substitution cipher through the hill climbing
+     * algorithm, telling listener what the climb did once it is finished.
+     * The SubstitutionCipher this is called from should not be modified.
+     * @param likelihoods the object used to find a score for a quadgram
+     * @param listener told about the climb once it has finished
+     * @return a SubstitutionCipher with the same ciphertext and the optimal
+     *  found through hill climbing
+     */
+    public SubstitutionCipher getSolution(QuadGramLikelihoods likelihoods, ISolverListener listener) {
+        // Climb on a primitive key, re-scoring only the quad-grams each swap
+        // touches; swaps are drawn exactly as randomSwap draws them.
+        SubstitutionScorer scorer = new SubstitutionScorer(this.ciphertext, likelihoods);
+        int[] key = SubstitutionScorer.toKey(new SubstitutionCipher(this.ciphertext).key);
+        ScoredKey scored = scorer.track(key);
+        SearchStats stats = new SearchStats(0);
+        double score = scored.getScore();
+        stats.begin(score);
+        long tried = 0;
+        long accepted = 0;
         int trials = 0;
         while (trials < 1000) {
-            SubstitutionCipher newSC = sc.randomSwap();
-            if (newSC.getScore(likelihoods) > sc.getScore(likelihoods)) {
-                sc = newSC;
+            tried++;
+            int a = RANDOM.nextInt(key.length);
+            int b = RANDOM.nextInt(key.length);
+            while (a == b) {
+                b = RANDOM.nextInt(key.length);
+            }
+            double delta = scored.swapDelta(a, b);
+            if (delta > 0) {
+                scored.swap(a, b);
+                score += delta;
+                accepted++;
+                stats.improved(tried, score);
                 trials = 0;
-
             }
             else {
                 trials += 1;
             }
         }
-        return sc;
+        stats.count(tried, accepted, tried);
+        stats.end(scorer.score(key));
+        listener.onSearchFinished(stats);
+        return new SubstitutionCipher(this.ciphertext, SubstitutionScorer.toMap(key));
+    }
+
+    /**
+     * Attempt to solve this substitution cipher with the given search
+     * strategy, starting from a random key. The SubstitutionCipher this is
+     * called from should not be modified.
+     * @param likelihoods the object used to find a score for a quadgram
+     * @param strategy the search to run
+     * @return a SubstitutionCipher with the same ciphertext and the best key
+     *  found by strategy
+     */
+    public SubstitutionCipher getSolution(QuadGramLikelihoods likelihoods, ISearchStrategy strategy) {
+        return getSolution(likelihoods, strategy, ISolverListener.NONE);
+    }
+
+    /**
+     * Attempt to solve this substitution cipher with the given search
+     * strategy, starting from a random key, and tell listener what the
+     * search did once it is finished. The SubstitutionCipher this is called
+     * from should not be modified.
+     * @param likelihoods the object used to find a score for a quadgram
+     * @param strategy the search to run
+     * @param listener told about the search once it has finished
+     * @return a SubstitutionCipher with the same ciphertext and the best key
+     *  found by strategy
+     */
+    public SubstitutionCipher getSolution(QuadGramLikelihoods likelihoods, ISearchStrategy strategy,
+                                          ISolverListener listener) {
+        return getSolution(likelihoods, strategy, RANDOM, listener);
+    }
+
+    /**
+     * Attempt to solve this substitution cipher with the given search
+     * strategy, drawing the starting key and every other random number from
+     * random, and tell listener what the search did once it is finished.
+     * Given a seeded generator, the same solve can be replayed exactly. The
+     * SubstitutionCipher this is called from should not be modified.
+     * @param likelihoods the object used to find a score for a quadgram
+     * @param strategy the search to run
+     * @param random the source of randomness for this solve
+     * @param listener told about the search once it has finished
+     * @return a SubstitutionCipher with the same ciphertext and the best key
+     *  found by strategy
+     */
+    public SubstitutionCipher getSolution(QuadGramLikelihoods likelihoods, ISearchStrategy strategy,
+                                          RandomGenerator random, ISolverListener listener) {
+        SubstitutionScorer scorer = new SubstitutionScorer(this.ciphertext, likelihoods);
+        int[] key = SubstitutionScorer.randomKey(random);
+        SearchStats stats = new SearchStats(0);
+        strategy.search(scorer, key, random, () -> false, stats);
+        listener.onSearchFinished(stats);
+        return new SubstitutionCipher(this.ciphertext, SubstitutionScorer.toMap(key));
     }
 }
@@ -0,0 +1,313 @@
+package edu.caltech.cs2.project01;
+
+import edu.caltech.cs2.project01.interfaces.ISearchStrategy;
+import edu.caltech.cs2.project01.interfaces.ISolverListener;
+import edu.caltech.cs2.project01.strategies.HillClimbingStrategy;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Solves a file of substitution ciphertexts, one per line, on a fixed pool
+ * of workers that share one QuadGramLikelihoods. Lines are read as they are
+ * needed, at most a few per worker are in flight at once, and plain texts are
+ * written in input order. Each line gets its own split of a SplittableRandom
+ * seeded with this solver's seed, taken in input order, so a batch solved
+ * twice with the same seed and no SolutionCache gives the same plain texts.
+ * With a cache set, lines that are re-keyings of lines already solved or
+ * being solved are not searched. Which line of such a group is searched
+ * depends on how the workers are scheduled, so their plain texts can
+ * differ from run to run even with the same seed.
+ */
+public class SubstitutionCipherBatchSolver {
+    public static final int DEFAULT_RESTARTS = 20;
+    // How many lines each worker may have queued or running at once.
+    private static final int LINES_IN_FLIGHT_PER_WORKER = 4;
+
+    private final QuadGramLikelihoods likelihoods;
+    private final ISearchStrategy strategy;
+    private final int workers;
+    private final int restarts;
+    private final long seed;
+    private volatile SolutionCache cache;
+    private volatile WordPatternIndex wordPatterns;
+    private final List<ISolverListener> listeners = new CopyOnWriteArrayList<>();
+
+    // The report of the last batch. Only the thread running solve writes
+    // these: workers hand latencies back through their futures, and write
+    // records them on that thread. getReport reads them unsynchronized, so
+    // it must be called on the thread that called solve, after it returns.
+    private long[] latencies = new long[16];
+    private int solved;
+    private long elapsed;
+
+    /**
+     * Construct a batch solver.
+     * @param likelihoods the object used to find a score for a quadgram
+     * @param strategy the search run for each restart
+     * @param workers the number of lines solved at once
+     * @param restarts the number of searches run for each line
+     */
+    public SubstitutionCipherBatchSolver(QuadGramLikelihoods likelihoods, ISearchStrategy strategy,
+                                         int workers, int restarts) {
+        this(likelihoods, strategy, workers, restarts, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Construct a batch solver whose searches draw their random numbers from seed.
+     * @param likelihoods the object used to find a score for a quadgram
+     * @param strategy the search run for each restart
+     * @param workers the number of lines solved at once
+     * @param restarts the number of searches run for each line
+     * @param seed the seed every batch starts from
+     */
+    public SubstitutionCipherBatchSolver(QuadGramLikelihoods likelihoods, ISearchStrategy strategy,
+                                         int workers, int restarts, long seed) {
+        if (workers < 1 || restarts < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.likelihoods = likelihoods;
+        this.strategy = strategy;
+        this.workers = workers;
+        this.restarts = restarts;
+        this.seed = seed;
+    }
+
+    /**
+     * Returns the seed every batch starts from, so that a batch can be replayed.
+     * @return this solver's seed
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Sets the cache checked before each line is searched and filled after.
+     * A line whose re-keying is already being searched waits for that search.
+     * @param cache the cache to use, or null to search every line
+     */
+    public void setCache(SolutionCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Sets the index used to seed the first restarts of lines with spaces.
+     * @param wordPatterns the index to seed from, or null to start every restart from a random key
+     */
+    public void setWordPatternIndex(WordPatternIndex wordPatterns) {
+        this.wordPatterns = wordPatterns;
+    }
+
+    /**
+     * Adds a listener that is told about every restart of every line.
+     * @param listener the listener to add
+     */
+    public void addListener(ISolverListener listener) {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * Stops telling listener about restarts.
+     * @param listener the listener to remove
+     */
+    public void removeListener(ISolverListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * Solves every line of in and writes each plain text to out as its own
+     * line, in the same order as the input. Only one batch may be solved at
+     * a time.
+     * @param in the cipher texts to solve, one per line
+     * @param out where the plain texts are written
+     * @throws IOException if reading or writing fails
+     */
+    public void solve(BufferedReader in, Writer out) throws IOException {
+        this.latencies = new long[16];
+        this.solved = 0;
+        this.elapsed = 0;
+        long start = System.nanoTime();
+
+        SplittableRandom random = new SplittableRandom(this.seed);
+        ExecutorService pool = Executors.newFixedThreadPool(this.workers);
+        Deque<Future<Line>> pending = new ArrayDeque<>();
+        try {
+            String ciphertext;
+            while ((ciphertext = in.readLine()) != null) {
+                if (pending.size() >= this.workers * LINES_IN_FLIGHT_PER_WORKER) {
+                    write(pending.removeFirst(), out);
+                }
+                String line = ciphertext;
+                SplittableRandom split = random.split();
+                pending.addLast(pool.submit(() -> solveLine(line, split)));
+            }
+            while (!pending.isEmpty()) {
+                write(pending.removeFirst(), out);
+            }
+            out.flush();
+        }
+        finally {
+            pool.shutdownNow();
+        }
+
+        this.elapsed = System.nanoTime() - start;
+    }
+
+    private Line solveLine(String ciphertext, SplittableRandom random) {
+        long start = System.nanoTime();
+        SolutionCache cache = this.cache;
+        int[] key = cache != null ? cache.getKey(ciphertext, line -> search(line, random)) : search(ciphertext, random);
+        return new Line(new SubstitutionRenderer(key).render(ciphertext), System.nanoTime() - start);
+    }
+
+    // Runs every restart on ciphertext and returns the best key found.
+    private int[] search(String ciphertext, SplittableRandom random) {
+        SubstitutionScorer scorer = new SubstitutionScorer(ciphertext, this.likelihoods);
+        WordPatternIndex wordPatterns = this.wordPatterns;
+        int[][] seeds = wordPatterns != null && ciphertext.indexOf(' ') >= 0
+                ? wordPatterns.seedKeys(ciphertext) : new int[0][];
+
+        int[] best = null;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < this.restarts; i++) {
+            int[] key;
+            if (i < seeds.length) {
+                key = seeds[i];
+            }
+            else {
+                key = SubstitutionScorer.randomKey(random);
+            }
+            SearchStats stats = new SearchStats(i);
+            double score = this.strategy.search(scorer, key, random, () -> false, stats);
+            for (ISolverListener listener : this.listeners) {
+                listener.onSearchFinished(stats);
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                best = key;
+            }
+        }
+        return best;
+    }
+
+    private void write(Future<Line> result, Writer out) throws IOException {
+        Line line;
+        try {
+            line = result.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while solving", e);
+        }
+        catch (ExecutionException e) {
+            throw new IOException("Failed to solve a line", e.getCause());
+        }
+
+        out.write(line.plaintext);
+        out.write(System.lineSeparator());
+        if (this.solved == this.latencies.length) {
+            this.latencies = Arrays.copyOf(this.latencies, this.latencies.length * 2);
+        }
+        this.latencies[this.solved++] = line.latency;
+    }
+
+    /**
+     * Returns a summary of the last call to solve: how many lines were
+     * solved, their throughput and percentiles of the time each line took.
+     * Before the first solve, and after a batch with no lines, every figure
+     * is 0. Must be called on the thread that called solve.
+     * @return the summary
+     */
+    public String getReport() {
+        long[] sorted = Arrays.copyOf(this.latencies, this.solved);
+        Arrays.sort(sorted);
+        double seconds = this.elapsed / 1e9;
+        double rate = this.solved > 0 && this.elapsed > 0 ? this.solved / seconds : 0.0;
+        return String.format("lines: %d, time: %.3f s, lines/sec: %.2f, latency ms p50: %.2f p90: %.2f p99: %.2f max: %.2f",
+                this.solved, seconds, rate,
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99), percentile(sorted, 1.0));
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int i = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, i)] / 1e6;
+    }
+
+    private static class Line {
+        private final String plaintext;
+        private final long latency;
+
+        private Line(String plaintext, long latency) {
+            this.plaintext = plaintext;
+            this.latency = latency;
+        }
+    }
+
+    /**
+     * Usage: SubstitutionCipherBatchSolver input [output] [workers] [restarts] [seed]
+     * Solves every line of input and writes the plain texts to output, or to
+     * the console if output is missing or "-". The report, search metrics
+     * and the seed used are printed to standard error so they never mix with
+     * the results; every search is also a JFR event when a recording is on.
+     * Repeated and re-keyed lines are answered from a SolutionCache, and
+     * lines with spaces start from keys seeded by a WordPatternIndex.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args == null || args.length < 1) {
+            System.err.println("Usage: SubstitutionCipherBatchSolver input [output] [workers] [restarts] [seed]");
+            return;
+        }
+        Path input = Paths.get(args[0]);
+        String output = args.length > 1 ? args[1] : "-";
+        int workers = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        int restarts = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_RESTARTS;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : ThreadLocalRandom.current().nextLong();
+
+        QuadGramLikelihoods likelihoods = QuadGramLikelihoods.load(Paths.get(QuadGramModelCompiler.DEFAULT_MODEL));
+        SubstitutionCipherBatchSolver solver =
+                new SubstitutionCipherBatchSolver(likelihoods, new HillClimbingStrategy(), workers, restarts, seed);
+        SolutionCache cache = new SolutionCache();
+        solver.setCache(cache);
+        solver.setWordPatternIndex(WordPatternIndex.load());
+        SolverMetrics metrics = new SolverMetrics();
+        solver.addListener(metrics);
+        solver.addListener(new JfrSolverListener());
+
+        try (BufferedReader in = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+            if (output.equals("-")) {
+                // Not closed, so that System.out stays open; solve flushes it.
+                solver.solve(in, new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)));
+            }
+            else {
+                try (Writer out = Files.newBufferedWriter(Paths.get(output), StandardCharsets.UTF_8)) {
+                    solver.solve(in, out);
+                }
+            }
+        }
+        System.err.println(solver.getReport());
+        System.err.println(metrics);
+        System.err.println(cache);
+        System.err.println("seed: " + seed);
+    }
+}
@@ -1,6 +1,9 @@
 package edu.caltech.cs2.project01;
 
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
 import java.util.Scanner;
 
 public class SubstitutionCipherSolver {
@@ -9,14 +12,14 @@ public class SubstitutionCipherSolver {
         System.out.print("Type a sentence to decrypt: ");
         String ciphertext = scan.nextLine();
 
-        QuadGramLikelihoods likelihoods = new QuadGramLikelihoods();
-        SubstitutionCipher best = new SubstitutionCipher(ciphertext);
-        for (int i = 0; i < 20; i ++) {
-            SubstitutionCipher cipher = best.getSolution(likelihoods);
-            if (cipher.getScore(likelihoods) > best.getScore(likelihoods)) {
-                best = cipher;
-            }
+        QuadGramLikelihoods likelihoods;
+        try {
+            likelihoods = QuadGramLikelihoods.load(Paths.get(QuadGramModelCompiler.DEFAULT_MODEL));
         }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        SubstitutionCipher best = new ParallelSubstitutionSolver(likelihoods).solve(ciphertext, 20);
         System.out.println(best.getPlainText());
     }
 }
\ No newline at end of file
@@ -0,0 +1,125 @@
+package edu.caltech.cs2.project01;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * Applies a substitution key to text through a 128-entry lookup table.
+ * Characters the key does not map, including anything outside ASCII, are
+ * passed through unchanged. Rendering into a char[] allocates nothing, and
+ * streaming from a Reader to a Writer reuses one buffer for the whole
+ * stream, so decrypting a file once its key is known is a single pass with
+ * no garbage.
+ *
+ * A renderer never changes after it is built, so one renderer may be shared
+ * by any number of threads.
+ */
+public class SubstitutionRenderer {
+    public static final int DEFAULT_BUFFER_CHARS = 1 << 16;
+
+    private final char[] table = passThroughTable();
+
+    /**
+     * Construct a renderer for an int[26] key as used by SubstitutionScorer.
+     * Upper- and lower-case letters are both mapped, keeping their case.
+     * @param key key[c] is the index of the plain text letter of cipher letter c
+     */
+    public SubstitutionRenderer(int[] key) {
+        if (key.length != QuadGramLikelihoods.ALPHABET_SIZE) {
+            throw new IllegalArgumentException();
+        }
+        for (int c = 0; c < key.length; c++) {
+            this.table['A' + c] = (char) ('A' + key[c]);
+            this.table['a' + c] = (char) ('a' + key[c]);
+        }
+    }
+
+    /**
+     * Construct a renderer for a SubstitutionCipher style key. Characters
+     * are mapped exactly as the map says; characters missing from it, and
+     * entries for characters outside ASCII, are passed through unchanged.
+     * @param key the map from cipher text characters to plaintext characters
+     */
+    public SubstitutionRenderer(Map<Character, Character> key) {
+        for (Map.Entry<Character, Character> entry : key.entrySet()) {
+            if (entry.getKey() < this.table.length) {
+                this.table[entry.getKey()] = entry.getValue();
+            }
+        }
+    }
+
+    private static char[] passThroughTable() {
+        char[] table = new char[128];
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (char) i;
+        }
+        return table;
+    }
+
+    /**
+     * Maps length characters of src, starting at srcOffset, into dst
+     * starting at dstOffset. src and dst may be the same array.
+     * @param src the cipher text
+     * @param srcOffset the index of the first character to map
+     * @param length the number of characters to map
+     * @param dst where the plain text is written
+     * @param dstOffset the index the first plain text character is written to
+     */
+    public void render(char[] src, int srcOffset, int length, char[] dst, int dstOffset) {
+        for (int i = 0; i < length; i++) {
+            char c = src[srcOffset + i];
+            dst[dstOffset + i] = c < 128 ? this.table[c] : c;
+        }
+    }
+
+    /**
+     * Returns the plain text of ciphertext.
+     * @param ciphertext the text to map
+     * @return the mapped text
+     */
+    public String render(CharSequence ciphertext) {
+        char[] text = new char[ciphertext.length()];
+        for (int i = 0; i < text.length; i++) {
+            char c = ciphertext.charAt(i);
+            text[i] = c < 128 ? this.table[c] : c;
+        }
+        return new String(text);
+    }
+
+    /**
+     * Maps everything in to out, DEFAULT_BUFFER_CHARS at a time. Neither
+     * stream is closed or flushed.
+     * @param in the cipher text
+     * @param out where the plain text is written
+     * @return the number of characters mapped
+     * @throws IOException if reading or writing fails
+     */
+    public long render(Reader in, Writer out) throws IOException {
+        return render(in, out, new char[DEFAULT_BUFFER_CHARS]);
+    }
+
+    /**
+     * Maps everything in to out through buffer, mapping each chunk in place.
+     * Neither stream is closed or flushed.
+     * @param in the cipher text
+     * @param out where the plain text is written
+     * @param buffer the buffer to read chunks into; its size is the chunk size
+     * @return the number of characters mapped
+     * @throws IOException if reading or writing fails
+     */
+    public long render(Reader in, Writer out, char[] buffer) throws IOException {
+        if (buffer.length == 0) {
+            throw new IllegalArgumentException();
+        }
+        long total = 0;
+        int n;
+        while ((n = in.read(buffer)) >= 0) {
+            render(buffer, 0, n, buffer, 0);
+            out.write(buffer, 0, n);
+            total += n;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,377 @@
+package edu.caltech.cs2.project01;
+
+import edu.caltech.cs2.project01.interfaces.ILanguageModel;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Scores substitution keys against one fixed cipher text.
+ *
+ * Keys are int[26] arrays where key[c] is the index of the plain text letter
+ * that cipher letter c maps to (0 for 'A' through 25 for 'Z'). Characters of
+ * the cipher text that are not upper-case letters are skipped, so n-grams
+ * run across them. Any ILanguageModel may be used; windows are as long as
+ * its order.
+ *
+ * A scorer never changes after it is built, so one scorer may be shared by
+ * any number of threads. score and swapDelta only read the keys they are
+ * given, so one key may also be evaluated by several threads at once.
+ * Searches hold the key they are working on in a ScoredKey from track,
+ * which is cheaper to try swaps on.
+ */
+public class SubstitutionScorer {
+    private final ILanguageModel model;
+    private final int order;
+    private final int modulus;
+    private final int[] letters;
+    // windows[c] lists the start of every window that contains letter c, and
+    // weights[c] how far that window's packed code moves per unit change in
+    // the plain text letter of c.
+    private final int[][] windows;
+    private final int[][] weights;
+    // masks[s] has bit c set if window s contains letter c.
+    private final int[] masks;
+
+    /**
+     * Builds a scorer for the given cipher text.
+     * @param ciphertext the cipher text keys will be scored against
+     * @param model the language model used to find a score for an n-gram
+     */
+    public SubstitutionScorer(String ciphertext, ILanguageModel model) {
+        this(letters(ciphertext), model);
+    }
+
+    private SubstitutionScorer(int[] letters, ILanguageModel model) {
+        this.model = model;
+        this.order = model.getOrder();
+        int modulus = 1;
+        for (int i = 1; i < this.order; i++) {
+            modulus *= QuadGramLikelihoods.ALPHABET_SIZE;
+        }
+        this.modulus = modulus;
+
+        this.letters = letters;
+        int[] counts = new int[QuadGramLikelihoods.ALPHABET_SIZE];
+        int[][] windows = new int[QuadGramLikelihoods.ALPHABET_SIZE][16];
+        int[][] weights = new int[QuadGramLikelihoods.ALPHABET_SIZE][16];
+        this.masks = new int[Math.max(0, letters.length - this.order + 1)];
+        for (int s = 0; s < this.masks.length; s++) {
+            int weight = modulus;
+            for (int i = s; i < s + this.order; i++, weight /= QuadGramLikelihoods.ALPHABET_SIZE) {
+                int c = letters[i];
+                if ((this.masks[s] & (1 << c)) != 0) {
+                    weights[c][counts[c] - 1] += weight;
+                    continue;
+                }
+                this.masks[s] |= 1 << c;
+                if (counts[c] == windows[c].length) {
+                    windows[c] = Arrays.copyOf(windows[c], 2 * counts[c]);
+                    weights[c] = Arrays.copyOf(weights[c], 2 * counts[c]);
+                }
+                windows[c][counts[c]] = s;
+                weights[c][counts[c]++] = weight;
+            }
+        }
+        this.windows = new int[QuadGramLikelihoods.ALPHABET_SIZE][];
+        this.weights = new int[QuadGramLikelihoods.ALPHABET_SIZE][];
+        for (int c = 0; c < QuadGramLikelihoods.ALPHABET_SIZE; c++) {
+            this.windows[c] = Arrays.copyOf(windows[c], counts[c]);
+            this.weights[c] = Arrays.copyOf(weights[c], counts[c]);
+        }
+    }
+
+    // Returns the upper-case letters of ciphertext as indices, skipping everything else.
+    private static int[] letters(String ciphertext) {
+        int n = 0;
+        for (int i = 0; i < ciphertext.length(); i++) {
+            int letter = ciphertext.charAt(i) - 'A';
+            if (letter >= 0 && letter < QuadGramLikelihoods.ALPHABET_SIZE) {
+                n++;
+            }
+        }
+        int[] letters = new int[n];
+        n = 0;
+        for (int i = 0; i < ciphertext.length(); i++) {
+            int letter = ciphertext.charAt(i) - 'A';
+            if (letter >= 0 && letter < QuadGramLikelihoods.ALPHABET_SIZE) {
+                letters[n++] = letter;
+            }
+        }
+        return letters;
+    }
+
+    /**
+     * Returns a scorer for a sample of about size letters of this scorer's
+     * text: runs of span letters spread evenly from its start to its end,
+     * joined together. The same arguments always give the same sample, and
+     * a larger size spreads more runs over the same text. The few n-grams
+     * that straddle two runs are scored like any other; with long runs
+     * they barely move the score.
+     * @param size the number of letters to sample
+     * @param span the number of consecutive letters in each run
+     * @return a scorer for the sample, or this scorer if size covers the whole text
+     */
+    public SubstitutionScorer sample(int size, int span) {
+        if (size < 1 || span < 1) {
+            throw new IllegalArgumentException();
+        }
+        if (size >= this.letters.length) {
+            return this;
+        }
+        span = Math.min(span, size);
+        int runs = (size + span - 1) / span;
+        int[] sample = new int[runs * span];
+        for (int r = 0; r < runs; r++) {
+            int start = (int) ((long) r * (this.letters.length - span) / Math.max(1, runs - 1));
+            System.arraycopy(this.letters, start, sample, r * span, span);
+        }
+        return new SubstitutionScorer(sample, this.model);
+    }
+
+    /**
+     * Returns the number of letters in the cipher text.
+     * @return the number of letters this scorer scores
+     */
+    public int length() {
+        return this.letters.length;
+    }
+
+    /**
+     * Returns the language model this scorer looks n-grams up in.
+     * @return the model used for scoring
+     */
+    public ILanguageModel getModel() {
+        return this.model;
+    }
+
+    /**
+     * Returns the score of the plain text produced by applying key to the
+     * cipher text. With QuadGramLikelihoods this matches
+     * SubstitutionCipher.getScore for the same key, as long as that key
+     * maps every letter of the cipher text.
+     * @param key the key to score
+     * @return the sum of the likelihoods of every n-gram of the plain text
+     */
+    public double score(int[] key) {
+        double score = 0.0;
+        int packed = prefix(key, 0);
+        for (int i = this.order - 1; i < this.letters.length; i++) {
+            packed = packed * QuadGramLikelihoods.ALPHABET_SIZE + key[this.letters[i]];
+            score += this.model.get(packed);
+            packed -= key[this.letters[i - this.order + 1]] * this.modulus;
+        }
+        return score;
+    }
+
+    /*
+     * Returns the packed code of the order - 1 letters from start on, the
+     * window loops' starting point. Each loop then appends a letter, looks
+     * the window up, and subtracts the first letter back out, which is much
+     * cheaper than taking the code modulo 26^(order - 1).
+     */
+    private int prefix(int[] key, int start) {
+        int packed = 0;
+        for (int i = start; i < Math.min(start + this.order - 1, this.letters.length); i++) {
+            packed = packed * QuadGramLikelihoods.ALPHABET_SIZE + key[this.letters[i]];
+        }
+        return packed;
+    }
+
+    /**
+     * Returns how much the score of key would change if the plain text
+     * letters of cipher letters a and b were exchanged. Only the n-grams
+     * that contain a or b are re-scored, so the cost is proportional to how
+     * often a and b occur rather than to the length of the text.
+     * key is not modified, so many swaps of one key may be evaluated at once.
+     * A search that tries many swaps of one key should use track instead,
+     * which also skips looking up the n-grams of the current key.
+     * @param key the key to evaluate the swap on
+     * @param a the first cipher letter to swap
+     * @param b the second cipher letter to swap
+     * @return score(key with a and b swapped) - score(key)
+     */
+    public double swapDelta(int[] key, int a, int b) {
+        return swapWindows(key, a, b, null, null, false);
+    }
+
+    /**
+     * Returns a ScoredKey that keeps the score of every n-gram of the text
+     * under key, so that each swapDelta on it looks up only the n-grams the
+     * swap would create. key is then owned by the ScoredKey and should only
+     * be changed through it.
+     * @param key the key to track
+     * @return a ScoredKey for key
+     */
+    public ScoredKey track(int[] key) {
+        int[] codes = new int[this.masks.length];
+        double[] scores = new double[this.masks.length];
+        double score = 0.0;
+        int packed = prefix(key, 0);
+        for (int s = 0; s < codes.length; s++) {
+            packed = packed * QuadGramLikelihoods.ALPHABET_SIZE + key[this.letters[s + this.order - 1]];
+            codes[s] = packed;
+            scores[s] = this.model.get(packed);
+            score += scores[s];
+            packed -= key[this.letters[s]] * this.modulus;
+        }
+        return new ScoredKey(this, key, codes, scores, score);
+    }
+
+    /*
+     * Sums, over every window that contains a or b, the score of the window
+     * with a and b exchanged in key minus its score under key. The packed
+     * code of an exchanged window is its code under key plus the change in
+     * a's plain text letter times a's weight in it, less the same for b.
+     * If codes and scores are given they hold every window's code and score
+     * under key, so only the exchanged windows are looked up; with update,
+     * the exchanged codes and scores are written back into them. Windows
+     * that contain both letters are only visited as windows of a.
+     */
+    double swapWindows(int[] key, int a, int b, int[] codes, double[] scores, boolean update) {
+        int change = key[b] - key[a];
+        int[] windows = this.windows[a];
+        int[] weights = this.weights[a];
+        double delta = 0.0;
+        int last = -2;
+        int code = 0;
+        for (int i = 0; i < windows.length; i++) {
+            int s = windows[i];
+            int shift = change * weights[i];
+            if ((this.masks[s] & (1 << b)) != 0) {
+                shift -= change * weight(s, b);
+            }
+            if (codes == null) {
+                code = code(key, s, last, code);
+                last = s;
+                delta += this.model.get(code + shift) - this.model.get(code);
+            }
+            else {
+                delta += rescore(s, shift, codes, scores, update);
+            }
+        }
+        windows = this.windows[b];
+        weights = this.weights[b];
+        last = -2;
+        for (int i = 0; i < windows.length; i++) {
+            int s = windows[i];
+            if ((this.masks[s] & (1 << a)) != 0) {
+                continue;
+            }
+            if (codes == null) {
+                code = code(key, s, last, code);
+                last = s;
+                delta += this.model.get(code - change * weights[i]) - this.model.get(code);
+            }
+            else {
+                delta += rescore(s, -change * weights[i], codes, scores, update);
+            }
+        }
+        return delta;
+    }
+
+    // Returns the change in the score of window s if its packed code moved by shift.
+    private double rescore(int s, int shift, int[] codes, double[] scores, boolean update) {
+        double score = this.model.get(codes[s] + shift);
+        double delta = score - scores[s];
+        if (update) {
+            codes[s] += shift;
+            scores[s] = score;
+        }
+        return delta;
+    }
+
+    // Returns the packed code of window s under key, rolled on from the code
+    // of window last when that is the window just before it.
+    private int code(int[] key, int s, int last, int lastCode) {
+        if (s == last + 1) {
+            return (lastCode - key[this.letters[last]] * this.modulus) * QuadGramLikelihoods.ALPHABET_SIZE
+                    + key[this.letters[s + this.order - 1]];
+        }
+        int packed = 0;
+        for (int i = s; i < s + this.order; i++) {
+            packed = packed * QuadGramLikelihoods.ALPHABET_SIZE + key[this.letters[i]];
+        }
+        return packed;
+    }
+
+    // Returns the weight of letter in window s, for the few windows that also contain the other letter.
+    private int weight(int s, int letter) {
+        int weight = 0;
+        for (int i = s; i < s + this.order; i++) {
+            weight = weight * QuadGramLikelihoods.ALPHABET_SIZE + (this.letters[i] == letter ? 1 : 0);
+        }
+        return weight;
+    }
+
+    /**
+     * Exchanges the plain text letters of cipher letters a and b in key.
+     * @param key the key to modify
+     * @param a the first cipher letter
+     * @param b the second cipher letter
+     */
+    public static void swap(int[] key, int a, int b) {
+        int tmp = key[a];
+        key[a] = key[b];
+        key[b] = tmp;
+    }
+
+    /**
+     * Returns the key mapping every letter to itself.
+     * @return a new identity key
+     */
+    public static int[] identityKey() {
+        int[] key = new int[QuadGramLikelihoods.ALPHABET_SIZE];
+        for (int i = 0; i < key.length; i++) {
+            key[i] = i;
+        }
+        return key;
+    }
+
+    /**
+     * Returns a key drawn uniformly from all keys with a Fisher-Yates
+     * shuffle, so the same generator state always gives the same key.
+     * @param random the source of randomness for the shuffle
+     * @return a new random key
+     */
+    public static int[] randomKey(RandomGenerator random) {
+        int[] key = identityKey();
+        for (int i = key.length - 1; i > 0; i--) {
+            swap(key, i, random.nextInt(i + 1));
+        }
+        return key;
+    }
+
+    /**
+     * Converts a SubstitutionCipher style key into an int[26] key. Letters
+     * missing from the map keep their identity mapping.
+     * @param map the map from cipher text characters to plaintext characters
+     * @return the equivalent int[26] key
+     */
+    public static int[] toKey(Map<Character, Character> map) {
+        int[] key = identityKey();
+        for (Map.Entry<Character, Character> entry : map.entrySet()) {
+            int from = entry.getKey() - 'A';
+            int to = entry.getValue() - 'A';
+            if (from >= 0 && from < key.length && to >= 0 && to < key.length) {
+                key[from] = to;
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Converts an int[26] key into a SubstitutionCipher style key.
+     * @param key the key to convert
+     * @return the equivalent map from cipher text characters to plaintext characters
+     */
+    public static Map<Character, Character> toMap(int[] key) {
+        Map<Character, Character> map = new HashMap<>();
+        for (int i = 0; i < key.length; i++) {
+            map.put((char) ('A' + i), (char) ('A' + key[i]));
+        }
+        return map;
+    }
+}
@@ -0,0 +1,232 @@
+package edu.caltech.cs2.project01;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.Scanner;
+import java.util.stream.IntStream;
+
+/**
+ * Solves Vigenere ciphers. The key length is estimated from the index of
+ * coincidence of every candidate length; for each likely length the key
+ * columns are solved as independent Caesar ciphers and the key is then
+ * refined one column at a time with quad-gram scoring. Candidate lengths,
+ * and the columns within each, are worked on in parallel.
+ */
+public class VigenereCipherSolver {
+    public static final int DEFAULT_MAX_KEY_LENGTH = 20;
+    public static final int DEFAULT_KEY_LENGTH_CANDIDATES = 4;
+    // Index of coincidence of English text.
+    public static final double ENGLISH_IOC = 0.0667;
+    // How many of the best frequency-ranked rotations refinement tries per column.
+    private static final int ROTATIONS_PER_COLUMN = 4;
+
+    private final QuadGramLikelihoods likelihoods;
+    private final int maxKeyLength;
+    private final int keyLengthCandidates;
+
+    public VigenereCipherSolver(QuadGramLikelihoods likelihoods) {
+        this(likelihoods, DEFAULT_MAX_KEY_LENGTH, DEFAULT_KEY_LENGTH_CANDIDATES);
+    }
+
+    /**
+     * Construct a Vigenere solver.
+     * @param likelihoods the object used to find a score for a quadgram
+     * @param maxKeyLength the longest key length considered
+     * @param keyLengthCandidates how many of the most likely key lengths are solved, along with their divisors
+     */
+    public VigenereCipherSolver(QuadGramLikelihoods likelihoods, int maxKeyLength, int keyLengthCandidates) {
+        if (maxKeyLength < 1 || keyLengthCandidates < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.likelihoods = likelihoods;
+        this.maxKeyLength = maxKeyLength;
+        this.keyLengthCandidates = keyLengthCandidates;
+    }
+
+    /**
+     * Returns the most likely key for ciphertext. Only the upper-case letters
+     * of ciphertext are used; everything else is ignored.
+     * @param ciphertext the text to solve
+     * @return the key, as upper-case letters
+     */
+    public String solve(String ciphertext) {
+        int[] letters = letters(ciphertext);
+        if (letters.length == 0) {
+            return "A";
+        }
+
+        int maxLength = Math.min(this.maxKeyLength, letters.length);
+        double[] ioc = new double[maxLength + 1];
+        IntStream.rangeClosed(1, maxLength).parallel()
+                .forEach(length -> ioc[length] = averageIndexOfCoincidence(letters, length));
+
+        // A multiple of the key length looks as English as the key length
+        // itself, so the divisors of every likely length are tried as well.
+        int[] candidates = IntStream.rangeClosed(1, maxLength).boxed()
+                .sorted(Comparator.comparingDouble((Integer length) -> Math.abs(ioc[length] - ENGLISH_IOC))
+                        .thenComparingInt(length -> length))
+                .limit(this.keyLengthCandidates)
+                .flatMapToInt(length -> IntStream.rangeClosed(1, length).filter(d -> length % d == 0))
+                .distinct()
+                .sorted()
+                .toArray();
+
+        int[][] shifts = new int[candidates.length][];
+        double[] scores = new double[candidates.length];
+        IntStream.range(0, candidates.length).parallel().forEach(i -> {
+            shifts[i] = solveForLength(letters, candidates[i]);
+            scores[i] = score(letters, shifts[i]);
+        });
+
+        // Multiples of the real key length decrypt to the same text, so ties
+        // go to the shorter key.
+        int best = 0;
+        for (int i = 1; i < candidates.length; i++) {
+            if (scores[i] > scores[best] || (scores[i] == scores[best] && candidates[i] < candidates[best])) {
+                best = i;
+            }
+        }
+
+        // A key letter is the rotation that encrypts, not the one that decrypts.
+        char[] key = new char[shifts[best].length];
+        for (int i = 0; i < key.length; i++) {
+            key[i] = CaesarCipher.ALPHABET[Math.floorMod(-shifts[best][i], CaesarCipher.ALPHABET.length)];
+        }
+        return new String(key);
+    }
+
+    // Returns the rotation that decrypts each column of a key of the given length.
+    private int[] solveForLength(int[] letters, int length) {
+        // rotations[c] holds the rotations that decrypt column c, best first.
+        int[][] rotations = new int[length][];
+        IntStream.range(0, length).parallel().forEach(column -> {
+            int[] histogram = new int[QuadGramLikelihoods.ALPHABET_SIZE];
+            for (int i = column; i < letters.length; i += length) {
+                histogram[letters[i]]++;
+            }
+            rotations[column] = CaesarFrequencySolver.rankRotations(histogram);
+        });
+
+        int[] shifts = new int[length];
+        for (int column = 0; column < length; column++) {
+            shifts[column] = rotations[column][0];
+        }
+
+        // Coordinate ascent: retry each column's next-best rotations against
+        // the whole text until no single change raises the score.
+        double score = score(letters, shifts);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int column = 0; column < length; column++) {
+                int current = shifts[column];
+                for (int r = 0; r < ROTATIONS_PER_COLUMN; r++) {
+                    shifts[column] = rotations[column][r];
+                    double candidate = score(letters, shifts);
+                    if (candidate > score) {
+                        score = candidate;
+                        current = shifts[column];
+                        improved = true;
+                    }
+                }
+                shifts[column] = current;
+            }
+        }
+        return shifts;
+    }
+
+    // Scores the plain text made by rotating letter i by shifts[i % shifts.length].
+    private double score(int[] letters, int[] shifts) {
+        double score = 0.0;
+        int packed = 0;
+        for (int i = 0; i < letters.length; i++) {
+            int plain = (letters[i] + shifts[i % shifts.length]) % QuadGramLikelihoods.ALPHABET_SIZE;
+            packed = QuadGramLikelihoods.shift(packed, plain);
+            if (i >= 3) {
+                score += this.likelihoods.get(packed);
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Returns the average index of coincidence of the columns of letters
+     * when it is split into length columns. Close to ENGLISH_IOC when
+     * length is a multiple of the key length, and close to 1/26 otherwise.
+     * @param letters the cipher text as letter indices
+     * @param length the candidate key length
+     * @return the average index of coincidence
+     */
+    public static double averageIndexOfCoincidence(int[] letters, int length) {
+        double total = 0.0;
+        for (int column = 0; column < length; column++) {
+            int[] counts = new int[QuadGramLikelihoods.ALPHABET_SIZE];
+            int n = 0;
+            for (int i = column; i < letters.length; i += length) {
+                counts[letters[i]]++;
+                n++;
+            }
+            if (n > 1) {
+                long pairs = 0;
+                for (int count : counts) {
+                    pairs += (long) count * (count - 1);
+                }
+                total += (double) pairs / ((long) n * (n - 1));
+            }
+        }
+        return total / length;
+    }
+
+    /**
+     * Encrypts the upper-case letters of text with key; everything else is left as is.
+     * @param text the text to encrypt
+     * @param key the key, as upper-case letters
+     * @return the encrypted text
+     */
+    public static String encrypt(String text, String key) {
+        return apply(text, key, 1);
+    }
+
+    /**
+     * Decrypts the upper-case letters of text with key; everything else is left as is.
+     * @param text the text to decrypt
+     * @param key the key, as upper-case letters
+     * @return the decrypted text
+     */
+    public static String decrypt(String text, String key) {
+        return apply(text, key, -1);
+    }
+
+    private static String apply(String text, String key, int direction) {
+        char[] result = text.toCharArray();
+        int k = 0;
+        for (int i = 0; i < result.length; i++) {
+            int letter = CaesarCipher.findIndexInAlphabet(result[i]);
+            if (letter >= 0) {
+                int shift = direction * CaesarCipher.findIndexInAlphabet(key.charAt(k % key.length()));
+                result[i] = CaesarCipher.ALPHABET[Math.floorMod(letter + shift, CaesarCipher.ALPHABET.length)];
+                k++;
+            }
+        }
+        return new String(result);
+    }
+
+    private static int[] letters(String text) {
+        return text.chars()
+                .map(c -> CaesarCipher.findIndexInAlphabet((char) c))
+                .filter(letter -> letter >= 0)
+                .toArray();
+    }
+
+    public static void main(String[] args) throws IOException {
+        Scanner scan = new Scanner(System.in);
+        System.out.print("Type a sentence to decrypt: ");
+        String ciphertext = scan.nextLine();
+
+        QuadGramLikelihoods likelihoods = QuadGramLikelihoods.load(Paths.get(QuadGramModelCompiler.DEFAULT_MODEL));
+        String key = new VigenereCipherSolver(likelihoods).solve(ciphertext);
+        System.out.println("Key: " + key);
+        System.out.println(decrypt(ciphertext, key));
+    }
+}
@@ -0,0 +1,343 @@
+package edu.caltech.cs2.project01;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An index of words by letter pattern, the canonical form of
+ * SolutionCache ("THAT" and "EXCE" are both "ABCA"), used to build
+ * starting keys for cipher texts that keep their word spaces.
+ *
+ * A substitution cipher keeps every word's pattern, so each cipher word can
+ * only be one of the dictionary words with its pattern. seedKeys searches
+ * for assignments of dictionary words to cipher words that agree on every
+ * letter, always extending the word with the fewest candidates left that
+ * agree with what has been assigned so far and dropping words that have
+ * none. Cipher words that are not in the dictionary may be left unassigned,
+ * so the best assignments are those covering the most cipher letters.
+ */
+public class WordPatternIndex {
+    public static final int DEFAULT_SEED_KEYS = 4;
+    // The most search nodes seedKeys visits before returning what it has.
+    public static final int DEFAULT_NODE_BUDGET = 20000;
+    // Only the cipher words covering the most letters are assigned; a few
+    // dozen words fix nearly every letter, and each one more widens the search.
+    private static final int MAX_SEARCH_WORDS = 24;
+
+    private final Map<String, String[]> words;
+
+    /**
+     * Builds an index of the given words. Words that are not all upper-case
+     * letters are skipped, and duplicates are stored once.
+     * @param dictionary the words to index
+     */
+    public WordPatternIndex(List<String> dictionary) {
+        Map<String, List<String>> groups = new HashMap<>();
+        for (String word : dictionary) {
+            if (word.isEmpty() || letters(word) == null) {
+                continue;
+            }
+            List<String> group = groups.computeIfAbsent(SolutionCache.canonicalForm(word), p -> new ArrayList<>());
+            if (!group.contains(word)) {
+                group.add(word);
+            }
+        }
+        this.words = new HashMap<>();
+        for (Map.Entry<String, List<String>> entry : groups.entrySet()) {
+            this.words.put(entry.getKey(), entry.getValue().toArray(new String[0]));
+        }
+    }
+
+    /**
+     * Builds an index of dictionary.txt.
+     * @return the index
+     */
+    public static WordPatternIndex load() {
+        return new WordPatternIndex(CaesarCipherSolver.getDictionary());
+    }
+
+    /**
+     * Returns the dictionary words with the same letter pattern as word.
+     * @param word an upper-case word
+     * @return the words with its pattern, possibly none
+     */
+    public String[] candidates(String word) {
+        String[] found = this.words.get(SolutionCache.canonicalForm(word));
+        return found == null ? new String[0] : found.clone();
+    }
+
+    /**
+     * Returns up to DEFAULT_SEED_KEYS starting keys for ciphertext.
+     * @param ciphertext upper-case cipher text with its word spaces kept
+     * @return int[26] keys as used by SubstitutionScorer, best first
+     */
+    public int[][] seedKeys(String ciphertext) {
+        return seedKeys(ciphertext, DEFAULT_SEED_KEYS, DEFAULT_NODE_BUDGET);
+    }
+
+    /**
+     * Returns up to count starting keys for ciphertext, best first. Each
+     * key comes from an assignment of dictionary words to cipher words;
+     * cipher letters left unassigned are given the unused plain text
+     * letters by frequency, most common cipher letter to most common
+     * English letter. Runs of upper-case letters are taken as words.
+     * @param ciphertext upper-case cipher text with its word spaces kept
+     * @param count the most keys to return
+     * @param nodeBudget the most search nodes to visit
+     * @return int[26] keys as used by SubstitutionScorer, best first; none if no cipher word has a candidate
+     */
+    public int[][] seedKeys(String ciphertext, int count, int nodeBudget) {
+        if (count < 1 || nodeBudget < 1) {
+            throw new IllegalArgumentException();
+        }
+
+        // Distinct cipher words, each weighted by how many letters of the text it covers.
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        int start = -1;
+        for (int i = 0; i <= ciphertext.length(); i++) {
+            boolean letter = i < ciphertext.length() && CaesarCipher.findIndexInAlphabet(ciphertext.charAt(i)) >= 0;
+            if (letter && start < 0) {
+                start = i;
+            }
+            else if (!letter && start >= 0) {
+                weights.merge(ciphertext.substring(start, i), i - start, Integer::sum);
+                start = -1;
+            }
+        }
+
+        List<Word> cipherWords = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            String[] found = this.words.get(SolutionCache.canonicalForm(entry.getKey()));
+            if (found != null) {
+                int[][] candidates = new int[found.length][];
+                for (int i = 0; i < found.length; i++) {
+                    candidates[i] = letters(found[i]);
+                }
+                cipherWords.add(new Word(letters(entry.getKey()), candidates, entry.getValue()));
+            }
+        }
+        if (cipherWords.isEmpty()) {
+            return new int[0][];
+        }
+        cipherWords.sort((a, b) -> b.weight - a.weight);
+        if (cipherWords.size() > MAX_SEARCH_WORDS) {
+            cipherWords = cipherWords.subList(0, MAX_SEARCH_WORDS);
+        }
+
+        Search search = new Search(cipherWords.toArray(new Word[0]), count, nodeBudget);
+        search.run();
+
+        int[] histogram = CaesarFrequencySolver.histogram(ciphertext);
+        int[][] keys = new int[search.found][];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = complete(search.mappings[i], histogram);
+        }
+        return keys;
+    }
+
+    // Fills in the unmapped (-1) letters of mapping by frequency rank.
+    private static int[] complete(int[] mapping, int[] histogram) {
+        int n = QuadGramLikelihoods.ALPHABET_SIZE;
+        int[] key = mapping.clone();
+        boolean[] used = new boolean[n];
+        for (int plain : key) {
+            if (plain >= 0) {
+                used[plain] = true;
+            }
+        }
+
+        Integer[] cipher = new Integer[n];
+        Integer[] plain = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            cipher[i] = i;
+            plain[i] = i;
+        }
+        Arrays.sort(cipher, (a, b) -> histogram[b] - histogram[a]);
+        Arrays.sort(plain, (a, b) -> Double.compare(CaesarFrequencySolver.ENGLISH_FREQUENCIES[b],
+                CaesarFrequencySolver.ENGLISH_FREQUENCIES[a]));
+
+        int next = 0;
+        for (int c : cipher) {
+            if (key[c] < 0) {
+                while (used[plain[next]]) {
+                    next++;
+                }
+                key[c] = plain[next];
+                used[plain[next]] = true;
+            }
+        }
+        return key;
+    }
+
+    // Returns the letter indices of word, or null if it has anything but upper-case letters.
+    private static int[] letters(String word) {
+        int[] letters = new int[word.length()];
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = CaesarCipher.findIndexInAlphabet(word.charAt(i));
+            if (letters[i] < 0) {
+                return null;
+            }
+        }
+        return letters;
+    }
+
+    private static class Word {
+        private final int[] letters;
+        private final int[][] candidates;
+        private final int weight;
+
+        private Word(int[] letters, int[][] candidates, int weight) {
+            this.letters = letters;
+            this.candidates = candidates;
+            this.weight = weight;
+        }
+    }
+
+    // Branch and bound over word assignments. mapping[c] is the plain text
+    // letter of cipher letter c, or -1; plainUsed is the set of plain text
+    // letters already taken, as a bit mask, so mappings stay one to one.
+    private static class Search {
+        private final Word[] words;
+        private final boolean[] done;
+        private final int[] mapping = new int[QuadGramLikelihoods.ALPHABET_SIZE];
+        private int plainUsed;
+        private int nodes;
+        private final int nodeBudget;
+
+        // The best mappings found, best first.
+        private final int[][] mappings;
+        private final int[] scores;
+        private int found;
+
+        private Search(Word[] words, int count, int nodeBudget) {
+            this.words = words;
+            this.done = new boolean[words.length];
+            this.nodeBudget = nodeBudget;
+            this.mappings = new int[count][];
+            this.scores = new int[count];
+            Arrays.fill(this.mapping, -1);
+        }
+
+        private void run() {
+            search(0);
+        }
+
+        private void search(int score) {
+            if (this.nodes++ >= this.nodeBudget) {
+                return;
+            }
+
+            // Open words with no candidate that agrees with mapping can no
+            // longer add to the score, so only the others count towards the
+            // bound, and the one with the fewest candidates is extended next.
+            int best = -1;
+            int fewest = Integer.MAX_VALUE;
+            int bound = score;
+            for (int w = 0; w < this.words.length; w++) {
+                if (!this.done[w]) {
+                    int consistent = countConsistent(this.words[w], fewest);
+                    if (consistent > 0) {
+                        bound += this.words[w].weight;
+                        if (consistent < fewest) {
+                            best = w;
+                            fewest = consistent;
+                        }
+                    }
+                }
+            }
+            if (this.found == this.mappings.length && bound <= this.scores[this.found - 1]) {
+                return;
+            }
+            if (best < 0) {
+                record(score);
+                return;
+            }
+
+            Word word = this.words[best];
+            this.done[best] = true;
+            int[] changed = new int[word.letters.length];
+            for (int[] candidate : word.candidates) {
+                int n = apply(word, candidate, changed);
+                if (n >= 0) {
+                    search(score + word.weight);
+                    undo(changed, n);
+                }
+            }
+            // Leave the word unassigned; it may not be in the dictionary.
+            search(score);
+            this.done[best] = false;
+        }
+
+        // Counts candidates of word that agree with mapping, giving up at limit.
+        private int countConsistent(Word word, int limit) {
+            int count = 0;
+            for (int[] candidate : word.candidates) {
+                if (consistent(word, candidate) && ++count >= limit) {
+                    break;
+                }
+            }
+            return count;
+        }
+
+        // Candidates share the word's pattern, so within the word letters
+        // already agree; only letters mapped by other words can conflict.
+        private boolean consistent(Word word, int[] candidate) {
+            for (int i = 0; i < candidate.length; i++) {
+                int mapped = this.mapping[word.letters[i]];
+                if (mapped >= 0 ? mapped != candidate[i] : (this.plainUsed & (1 << candidate[i])) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Maps word to candidate, storing the newly mapped cipher letters in
+        // changed, and returns how many there are, or -1 if they conflict.
+        private int apply(Word word, int[] candidate, int[] changed) {
+            if (!consistent(word, candidate)) {
+                return -1;
+            }
+            int n = 0;
+            for (int i = 0; i < candidate.length; i++) {
+                int c = word.letters[i];
+                if (this.mapping[c] < 0) {
+                    this.mapping[c] = candidate[i];
+                    this.plainUsed |= 1 << candidate[i];
+                    changed[n++] = c;
+                }
+            }
+            return n;
+        }
+
+        private void undo(int[] changed, int n) {
+            for (int i = 0; i < n; i++) {
+                this.plainUsed &= ~(1 << this.mapping[changed[i]]);
+                this.mapping[changed[i]] = -1;
+            }
+        }
+
+        private void record(int score) {
+            for (int i = 0; i < this.found; i++) {
+                if (Arrays.equals(this.mappings[i], this.mapping)) {
+                    return;
+                }
+            }
+            int i = Math.min(this.found, this.mappings.length - 1);
+            if (this.found == this.mappings.length && score <= this.scores[i]) {
+                return;
+            }
+            while (i > 0 && this.scores[i - 1] < score) {
+                this.mappings[i] = this.mappings[i - 1];
+                this.scores[i] = this.scores[i - 1];
+                i--;
+            }
+            this.mappings[i] = this.mapping.clone();
+            this.scores[i] = score;
+            this.found = Math.min(this.found + 1, this.mappings.length);
+        }
+    }
+}
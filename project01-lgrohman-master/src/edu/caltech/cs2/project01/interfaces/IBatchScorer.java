@@ -0,0 +1,35 @@
+package edu.caltech.cs2.project01.interfaces;
+
+import edu.caltech.cs2.project01.QuadGramLikelihoods;
+import edu.caltech.cs2.project01.ScalarBatchScorer;
+
+public interface IBatchScorer {
+    /**
+     * Scores many keys against this scorer's cipher text at once. scores[i]
+     * is set to the score of keys[i], exactly as SubstitutionScorer.score
+     * would compute it.
+     * @param keys int[26] keys as used by SubstitutionScorer
+     * @param scores where the scores are written; at least as long as keys
+     */
+    public void score(int[][] keys, double[] scores);
+
+    /**
+     * Returns the fastest batch scorer this JVM can run: the Vector API
+     * scorer when the jdk.incubator.vector module is present (run with
+     * --add-modules jdk.incubator.vector), and a ScalarBatchScorer otherwise.
+     * @param ciphertext the cipher text keys will be scored against
+     * @param likelihoods the object used to find a score for a quadgram
+     * @return the scorer
+     */
+    public static IBatchScorer create(String ciphertext, QuadGramLikelihoods likelihoods) {
+        // Loaded by name so that this compiles and runs without the incubator module.
+        try {
+            return (IBatchScorer) Class.forName("edu.caltech.cs2.project01.VectorBatchScorer")
+                    .getConstructor(String.class, QuadGramLikelihoods.class)
+                    .newInstance(ciphertext, likelihoods);
+        }
+        catch (ReflectiveOperationException | LinkageError e) {
+            return new ScalarBatchScorer(ciphertext, likelihoods);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package edu.caltech.cs2.project01.interfaces;
+
+public interface ICoolingSchedule {
+    /**
+     * Returns the temperature to use at the given step of an annealing run.
+     * @param step the current step, from 0 to steps - 1
+     * @param steps the total number of steps in the run
+     * @return the temperature at step
+     */
+    public double temperature(long step, long steps);
+
+    /**
+     * Returns a schedule that cools geometrically from start to end.
+     * @param start the temperature at the first step
+     * @param end the temperature at the last step
+     * @return the schedule
+     */
+    public static ICoolingSchedule geometric(double start, double end) {
+        if (!(start > 0 && end > 0)) {
+            throw new IllegalArgumentException();
+        }
+        return (step, steps) -> start * Math.pow(end / start, (double) step / Math.max(1, steps - 1));
+    }
+
+    /**
+     * Returns a schedule that cools linearly from start to end.
+     * @param start the temperature at the first step
+     * @param end the temperature at the last step
+     * @return the schedule
+     */
+    public static ICoolingSchedule linear(double start, double end) {
+        if (!(start > 0 && end > 0)) {
+            throw new IllegalArgumentException();
+        }
+        return (step, steps) -> start + (end - start) * step / Math.max(1, steps - 1);
+    }
+}
@@ -0,0 +1,24 @@
+package edu.caltech.cs2.project01.interfaces;
+
+public interface ILanguageModel {
+    /**
+     * Returns n, the number of letters in each n-gram of this model.
+     * @return the order of this model
+     */
+    public int getOrder();
+
+    /**
+     * Returns the log-likelihood of a packed n-gram. An n-gram of letter
+     * indices l1, ..., ln (0 for 'A' through 25 for 'Z') is packed as the
+     * base-26 number l1 l2 ... ln, with l1 the most significant digit.
+     * @param packed the packed n-gram
+     * @return the log-likelihood as calculated by this model's data set
+     */
+    public double get(int packed);
+
+    /**
+     * Returns the log-likelihood used for n-grams that never appear in this model's data set.
+     * @return the log-likelihood of an unseen n-gram
+     */
+    public double getNotFoundLikelihood();
+}
@@ -0,0 +1,31 @@
+package edu.caltech.cs2.project01.interfaces;
+
+import edu.caltech.cs2.project01.SearchStats;
+import edu.caltech.cs2.project01.SubstitutionScorer;
+
+import java.util.function.BooleanSupplier;
+import java.util.random.RandomGenerator;
+
+public interface ISearchStrategy {
+    /**
+     * Searches for a better key starting from key, and leaves the best key
+     * found in key when it returns. What the search did is recorded in
+     * stats, from begin before the first swap to end after the last.
+     * @param scorer the scorer for the cipher text being solved
+     * @param key the starting key, overwritten with the best key found
+     * @param random the source of randomness for this search
+     * @param stop checked as the search runs; the search returns early once it is true
+     * @param stats where the search records what it did
+     * @return the score of the key left in key
+     */
+    public double search(SubstitutionScorer scorer, int[] key, RandomGenerator random, BooleanSupplier stop,
+                         SearchStats stats);
+
+    public default double search(SubstitutionScorer scorer, int[] key, RandomGenerator random, BooleanSupplier stop) {
+        return search(scorer, key, random, stop, new SearchStats(0));
+    }
+
+    public default double search(SubstitutionScorer scorer, int[] key, RandomGenerator random) {
+        return search(scorer, key, random, () -> false);
+    }
+}
@@ -0,0 +1,18 @@
+package edu.caltech.cs2.project01.interfaces;
+
+import edu.caltech.cs2.project01.SearchStats;
+
+public interface ISolverListener {
+    /**
+     * A listener that ignores every search.
+     */
+    public static final ISolverListener NONE = stats -> {};
+
+    /**
+     * Called once each search has finished, on the thread that ran it.
+     * Solvers running restarts in parallel may call this from several
+     * threads at once.
+     * @param stats what the search did
+     */
+    public void onSearchFinished(SearchStats stats);
+}
@@ -0,0 +1,64 @@
+package edu.caltech.cs2.project01.strategies;
+
+import edu.caltech.cs2.project01.ScoredKey;
+import edu.caltech.cs2.project01.SearchStats;
+import edu.caltech.cs2.project01.SubstitutionScorer;
+import edu.caltech.cs2.project01.interfaces.ISearchStrategy;
+
+import java.util.function.BooleanSupplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * Greedy hill climbing: random swaps are kept only if they raise the score,
+ * and the search ends after maxFailedSwaps swaps in a row fail to.
+ */
+public class HillClimbingStrategy implements ISearchStrategy {
+    public static final int DEFAULT_MAX_FAILED_SWAPS = 1000;
+
+    private final int maxFailedSwaps;
+
+    public HillClimbingStrategy() {
+        this(DEFAULT_MAX_FAILED_SWAPS);
+    }
+
+    public HillClimbingStrategy(int maxFailedSwaps) {
+        if (maxFailedSwaps < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.maxFailedSwaps = maxFailedSwaps;
+    }
+
+    @Override
+    public double search(SubstitutionScorer scorer, int[] key, RandomGenerator random, BooleanSupplier stop,
+                         SearchStats stats) {
+        ScoredKey scored = scorer.track(key);
+        double score = scored.getScore();
+        stats.begin(score);
+        long tried = 0;
+        long accepted = 0;
+        int trials = 0;
+        while (trials < this.maxFailedSwaps && !stop.getAsBoolean()) {
+            tried++;
+            int a = random.nextInt(key.length);
+            int b = random.nextInt(key.length - 1);
+            if (b >= a) {
+                b++;
+            }
+            double delta = scored.swapDelta(a, b);
+            if (delta > 0) {
+                scored.swap(a, b);
+                score += delta;
+                accepted++;
+                stats.improved(tried, score);
+                trials = 0;
+            }
+            else {
+                trials += 1;
+            }
+        }
+        stats.count(tried, accepted, tried);
+        score = scorer.score(key);
+        stats.end(score);
+        return score;
+    }
+}
@@ -0,0 +1,200 @@
+package edu.caltech.cs2.project01.strategies;
+
+import edu.caltech.cs2.project01.ScoredKey;
+import edu.caltech.cs2.project01.SearchStats;
+import edu.caltech.cs2.project01.SubstitutionScorer;
+import edu.caltech.cs2.project01.interfaces.ISearchStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * Parallel tempering: several replicas run fixed-temperature Metropolis
+ * searches at once, one task each, on a geometric ladder of temperatures.
+ * After every sweep, neighbouring replicas exchange temperatures with the
+ * usual replica-exchange acceptance probability, so good keys found while
+ * hot can be refined while cold. As in SimulatedAnnealingStrategy,
+ * temperatures are per TEMPERATURE_SCALE letters of text. The best key seen
+ * by any replica is returned. Each replica draws from its own split of the
+ * search's random source, so replicas never contend on one generator.
+ */
+public class ParallelTemperingStrategy implements ISearchStrategy {
+    public static final int DEFAULT_REPLICAS = 4;
+    public static final double DEFAULT_MIN_TEMPERATURE = 0.1;
+    public static final double DEFAULT_MAX_TEMPERATURE = 3.0;
+    public static final int DEFAULT_SWEEP_LENGTH = 250;
+    public static final int DEFAULT_SWEEPS = 10;
+
+    private final double[] temperatures;
+    private final int sweepLength;
+    private final int sweeps;
+    private final ForkJoinPool pool;
+
+    public ParallelTemperingStrategy() {
+        this(DEFAULT_REPLICAS, DEFAULT_MIN_TEMPERATURE, DEFAULT_MAX_TEMPERATURE,
+                DEFAULT_SWEEP_LENGTH, DEFAULT_SWEEPS, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Construct a parallel tempering search.
+     * @param replicas the number of replicas, and so of temperatures
+     * @param minTemperature the temperature of the coldest replica
+     * @param maxTemperature the temperature of the hottest replica
+     * @param sweepLength the number of swaps each replica tries between exchanges
+     * @param sweeps the number of sweeps to run
+     * @param pool the pool replicas run on
+     */
+    public ParallelTemperingStrategy(int replicas, double minTemperature, double maxTemperature,
+                                     int sweepLength, int sweeps, ForkJoinPool pool) {
+        if (replicas < 1 || !(minTemperature > 0) || maxTemperature < minTemperature
+                || sweepLength < 1 || sweeps < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.temperatures = new double[replicas];
+        for (int i = 0; i < replicas; i++) {
+            double t = replicas == 1 ? 0 : (double) i / (replicas - 1);
+            this.temperatures[i] = minTemperature * Math.pow(maxTemperature / minTemperature, t);
+        }
+        this.sweepLength = sweepLength;
+        this.sweeps = sweeps;
+        this.pool = pool;
+    }
+
+    @Override
+    public double search(SubstitutionScorer scorer, int[] key, RandomGenerator random, BooleanSupplier stop,
+                         SearchStats stats) {
+        double scale = Math.max(1.0, scorer.length() / SimulatedAnnealingStrategy.TEMPERATURE_SCALE);
+        double[] temperatures = new double[this.temperatures.length];
+        for (int i = 0; i < temperatures.length; i++) {
+            temperatures[i] = scale * this.temperatures[i];
+        }
+
+        // ladder[i] is the replica currently running at temperatures[i].
+        Replica[] ladder = new Replica[this.temperatures.length];
+        for (int i = 0; i < ladder.length; i++) {
+            ladder[i] = new Replica(scorer, key.clone(), split(random));
+        }
+        double bestScore = ladder[0].score;
+        stats.begin(bestScore);
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int sweep = 0; sweep < this.sweeps && !stop.getAsBoolean(); sweep++) {
+            tasks.clear();
+            for (int i = 0; i < ladder.length; i++) {
+                Replica replica = ladder[i];
+                double temperature = temperatures[i];
+                tasks.add(() -> {
+                    replica.sweep(temperature, this.sweepLength, stop);
+                    return null;
+                });
+            }
+            // A replica that failed would leave the exchange below working on stale state.
+            for (Future<Void> future : this.pool.invokeAll(tasks)) {
+                try {
+                    future.get();
+                }
+                catch (ExecutionException e) {
+                    if (e.getCause() instanceof RuntimeException) {
+                        throw (RuntimeException) e.getCause();
+                    }
+                    if (e.getCause() instanceof Error) {
+                        throw (Error) e.getCause();
+                    }
+                    throw new IllegalStateException(e.getCause());
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                }
+            }
+
+            // Replicas count their own swaps; the trace is kept here, between sweeps.
+            long tried = 0;
+            for (Replica replica : ladder) {
+                tried += replica.tried;
+            }
+            for (Replica replica : ladder) {
+                if (replica.bestScore > bestScore) {
+                    bestScore = replica.bestScore;
+                    stats.improved(tried, bestScore);
+                }
+            }
+
+            for (int i = sweep % 2; i + 1 < ladder.length; i += 2) {
+                double exponent = (ladder[i + 1].score - ladder[i].score)
+                        * (1 / temperatures[i] - 1 / temperatures[i + 1]);
+                if (exponent >= 0 || random.nextDouble() < Math.exp(exponent)) {
+                    Replica tmp = ladder[i];
+                    ladder[i] = ladder[i + 1];
+                    ladder[i + 1] = tmp;
+                }
+            }
+        }
+
+        Replica best = ladder[0];
+        for (Replica replica : ladder) {
+            if (replica.bestScore > best.bestScore) {
+                best = replica;
+            }
+            stats.count(replica.tried, replica.accepted, replica.tried);
+        }
+        System.arraycopy(best.best, 0, key, 0, key.length);
+        double score = scorer.score(key);
+        stats.end(score);
+        return score;
+    }
+
+    // Splits random if it can be split, and otherwise seeds a new generator from it.
+    private static RandomGenerator split(RandomGenerator random) {
+        if (random instanceof RandomGenerator.SplittableGenerator) {
+            return ((RandomGenerator.SplittableGenerator) random).split();
+        }
+        return new SplittableRandom(random.nextLong());
+    }
+
+    private static class Replica {
+        private final ScoredKey key;
+        private final int[] best;
+        private final RandomGenerator random;
+        private double score;
+        private double bestScore;
+        private long tried;
+        private long accepted;
+
+        private Replica(SubstitutionScorer scorer, int[] key, RandomGenerator random) {
+            this.key = scorer.track(key);
+            this.best = key.clone();
+            this.random = random;
+            this.score = this.key.getScore();
+            this.bestScore = this.score;
+        }
+
+        private void sweep(double temperature, int length, BooleanSupplier stop) {
+            for (int step = 0; step < length && !stop.getAsBoolean(); step++) {
+                int a = this.random.nextInt(this.best.length);
+                int b = this.random.nextInt(this.best.length - 1);
+                if (b >= a) {
+                    b++;
+                }
+                double delta = this.key.swapDelta(a, b);
+                this.tried++;
+                if (delta > 0 || this.random.nextDouble() < Math.exp(delta / temperature)) {
+                    this.key.swap(a, b);
+                    this.score += delta;
+                    this.accepted++;
+                    if (this.score > this.bestScore) {
+                        this.bestScore = this.score;
+                        System.arraycopy(this.key.getKey(), 0, this.best, 0, this.best.length);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package edu.caltech.cs2.project01.strategies;
+
+import edu.caltech.cs2.project01.SearchStats;
+import edu.caltech.cs2.project01.SubstitutionScorer;
+import edu.caltech.cs2.project01.interfaces.ISearchStrategy;
+
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * Runs another strategy on a sample of a long cipher text instead of all of
+ * it, since a key has only 26 letters to place and a few thousand letters
+ * of text are usually enough to place them. The sample starts at
+ * initialSize letters and doubles after every stage until a stage leaves
+ * the key unchanged or the sample covers the whole text. The key is then
+ * confirmed on the full text, by default with steepest ascent, which costs
+ * a single pass of 325 swaps when the sample already found the best key.
+ * The score returned is always the full text score.
+ */
+public class SampledSearchStrategy implements ISearchStrategy {
+    public static final int DEFAULT_INITIAL_SIZE = 4096;
+    public static final int DEFAULT_SPAN = 512;
+
+    private final ISearchStrategy strategy;
+    private final ISearchStrategy confirm;
+    private final int initialSize;
+    private final int span;
+
+    public SampledSearchStrategy(ISearchStrategy strategy) {
+        this(strategy, new SteepestAscentStrategy(), DEFAULT_INITIAL_SIZE, DEFAULT_SPAN);
+    }
+
+    /**
+     * @param strategy the search run on each sample
+     * @param confirm the search run once on the full text, starting from the last sample's key
+     * @param initialSize the number of letters in the first sample
+     * @param span the number of consecutive letters in each run of a sample
+     */
+    public SampledSearchStrategy(ISearchStrategy strategy, ISearchStrategy confirm, int initialSize, int span) {
+        if (initialSize < 1 || span < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.strategy = strategy;
+        this.confirm = confirm;
+        this.initialSize = initialSize;
+        this.span = span;
+    }
+
+    @Override
+    public double search(SubstitutionScorer scorer, int[] key, RandomGenerator random, BooleanSupplier stop,
+                         SearchStats stats) {
+        double score = scorer.score(key);
+        stats.begin(score);
+        int[] previous = new int[key.length];
+        long size = this.initialSize;
+        while (size < scorer.length() && !stop.getAsBoolean()) {
+            System.arraycopy(key, 0, previous, 0, key.length);
+            search(this.strategy, scorer.sample((int) size, this.span), key, random, stop, stats);
+            double full = scorer.score(key);
+            if (full > score) {
+                stats.improved(stats.getSwapsTried(), full);
+            }
+            score = full;
+            if (Arrays.equals(key, previous)) {
+                break;
+            }
+            size *= 2;
+        }
+        if (!stop.getAsBoolean()) {
+            search(this.confirm, scorer, key, random, stop, stats);
+        }
+        score = scorer.score(key);
+        stats.end(score);
+        return score;
+    }
+
+    // Runs one stage, adding what it did to the whole search's counts.
+    private static void search(ISearchStrategy strategy, SubstitutionScorer scorer, int[] key,
+                               RandomGenerator random, BooleanSupplier stop, SearchStats stats) {
+        SearchStats stage = new SearchStats(stats.getRestart());
+        strategy.search(scorer, key, random, stop, stage);
+        stats.count(stage.getSwapsTried(), stage.getSwapsAccepted(), stage.getEvaluations());
+    }
+}
@@ -0,0 +1,77 @@
+package edu.caltech.cs2.project01.strategies;
+
+import edu.caltech.cs2.project01.ScoredKey;
+import edu.caltech.cs2.project01.SearchStats;
+import edu.caltech.cs2.project01.SubstitutionScorer;
+import edu.caltech.cs2.project01.interfaces.ICoolingSchedule;
+import edu.caltech.cs2.project01.interfaces.ISearchStrategy;
+
+import java.util.function.BooleanSupplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * Simulated annealing: a swap that lowers the score by d is still taken
+ * with probability exp(d / T), where the temperature T falls over the run
+ * as given by a cooling schedule. Score changes grow with the length of
+ * the text, so schedule temperatures are per TEMPERATURE_SCALE letters and
+ * are scaled to the text being solved. The best key seen is returned.
+ */
+public class SimulatedAnnealingStrategy implements ISearchStrategy {
+    public static final long DEFAULT_STEPS = 10000;
+    public static final double TEMPERATURE_SCALE = 100.0;
+    public static final ICoolingSchedule DEFAULT_SCHEDULE = ICoolingSchedule.geometric(10.0, 0.05);
+
+    private final ICoolingSchedule schedule;
+    private final long steps;
+
+    public SimulatedAnnealingStrategy() {
+        this(DEFAULT_SCHEDULE, DEFAULT_STEPS);
+    }
+
+    public SimulatedAnnealingStrategy(ICoolingSchedule schedule, long steps) {
+        if (steps < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.schedule = schedule;
+        this.steps = steps;
+    }
+
+    @Override
+    public double search(SubstitutionScorer scorer, int[] key, RandomGenerator random, BooleanSupplier stop,
+                         SearchStats stats) {
+        ScoredKey scored = scorer.track(key);
+        double score = scored.getScore();
+        double bestScore = score;
+        int[] best = key.clone();
+        double scale = Math.max(1.0, scorer.length() / TEMPERATURE_SCALE);
+        stats.begin(score);
+        long accepted = 0;
+
+        long step = 0;
+        for (; step < this.steps && !stop.getAsBoolean(); step++) {
+            double temperature = scale * this.schedule.temperature(step, this.steps);
+            int a = random.nextInt(key.length);
+            int b = random.nextInt(key.length - 1);
+            if (b >= a) {
+                b++;
+            }
+            double delta = scored.swapDelta(a, b);
+            if (delta > 0 || random.nextDouble() < Math.exp(delta / temperature)) {
+                scored.swap(a, b);
+                score += delta;
+                accepted++;
+                if (score > bestScore) {
+                    bestScore = score;
+                    System.arraycopy(key, 0, best, 0, key.length);
+                    stats.improved(step + 1, score);
+                }
+            }
+        }
+
+        System.arraycopy(best, 0, key, 0, key.length);
+        stats.count(step, accepted, step);
+        score = scorer.score(key);
+        stats.end(score);
+        return score;
+    }
+}
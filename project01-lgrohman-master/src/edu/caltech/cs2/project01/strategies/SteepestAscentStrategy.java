@@ -0,0 +1,101 @@
+package edu.caltech.cs2.project01.strategies;
+
+import edu.caltech.cs2.project01.QuadGramLikelihoods;
+import edu.caltech.cs2.project01.ScoredKey;
+import edu.caltech.cs2.project01.SearchStats;
+import edu.caltech.cs2.project01.SubstitutionScorer;
+import edu.caltech.cs2.project01.interfaces.ISearchStrategy;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BooleanSupplier;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+/**
+ * Steepest ascent: every step scores all 325 pairwise swaps of the key and
+ * takes the best one, stopping at the first key no swap improves. The search
+ * is deterministic, so random is not used. On long texts the 325 swaps are
+ * scored in parallel on a ForkJoinPool.
+ */
+public class SteepestAscentStrategy implements ISearchStrategy {
+    // Texts shorter than this are scored on the calling thread; forking costs
+    // more than it saves when each swap only touches a few windows.
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 2000;
+
+    private static final int[] PAIR_A;
+    private static final int[] PAIR_B;
+
+    static {
+        int n = QuadGramLikelihoods.ALPHABET_SIZE;
+        PAIR_A = new int[n * (n - 1) / 2];
+        PAIR_B = new int[PAIR_A.length];
+        int i = 0;
+        for (int a = 0; a < n; a++) {
+            for (int b = a + 1; b < n; b++) {
+                PAIR_A[i] = a;
+                PAIR_B[i] = b;
+                i++;
+            }
+        }
+    }
+
+    private final int parallelThreshold;
+    private final ForkJoinPool pool;
+
+    public SteepestAscentStrategy() {
+        this(DEFAULT_PARALLEL_THRESHOLD, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Construct a steepest ascent search.
+     * @param parallelThreshold the shortest text, in letters, whose swaps are scored in parallel
+     * @param pool the pool swaps are scored on
+     */
+    public SteepestAscentStrategy(int parallelThreshold, ForkJoinPool pool) {
+        this.parallelThreshold = parallelThreshold;
+        this.pool = pool;
+    }
+
+    @Override
+    public double search(SubstitutionScorer scorer, int[] key, RandomGenerator random, BooleanSupplier stop,
+                         SearchStats stats) {
+        double[] deltas = new double[PAIR_A.length];
+        boolean parallel = scorer.length() >= this.parallelThreshold;
+        ScoredKey scored = scorer.track(key);
+        double score = scored.getScore();
+        stats.begin(score);
+        long steps = 0;
+        long accepted = 0;
+
+        while (!stop.getAsBoolean()) {
+            if (parallel) {
+                this.pool.submit(() -> IntStream.range(0, deltas.length).parallel()
+                        .forEach(i -> deltas[i] = scored.swapDelta(PAIR_A[i], PAIR_B[i]))).join();
+            }
+            else {
+                for (int i = 0; i < deltas.length; i++) {
+                    deltas[i] = scored.swapDelta(PAIR_A[i], PAIR_B[i]);
+                }
+            }
+
+            int best = 0;
+            for (int i = 1; i < deltas.length; i++) {
+                if (deltas[i] > deltas[best]) {
+                    best = i;
+                }
+            }
+            steps++;
+            if (deltas[best] <= 0) {
+                break;
+            }
+            scored.swap(PAIR_A[best], PAIR_B[best]);
+            score += deltas[best];
+            accepted++;
+            stats.improved(steps * deltas.length, score);
+        }
+        stats.count(steps * deltas.length, accepted, steps * deltas.length);
+        score = scorer.score(key);
+        stats.end(score);
+        return score;
+    }
+}
@@ -0,0 +1,56 @@
+package edu.caltech.cs2.helpers;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class SubstitutionKeys {
+    public static final int ALPHABET_SIZE = 26;
+
+    // Returns a uniformly random int[26] key: key[c] is the plain text letter of cipher letter c.
+    public static int[] randomKey(Random random) {
+        int[] key = new int[ALPHABET_SIZE];
+        for (int i = 0; i < key.length; i++) {
+            key[i] = i;
+        }
+        for (int i = key.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = key[i];
+            key[i] = key[j];
+            key[j] = tmp;
+        }
+        return key;
+    }
+
+    // Returns the cipher text that key deciphers to plaintext; non-letters are kept.
+    public static String encrypt(String plaintext, int[] key) {
+        int[] inverse = new int[key.length];
+        for (int letter = 0; letter < key.length; letter++) {
+            inverse[key[letter]] = letter;
+        }
+        StringBuilder ciphertext = new StringBuilder();
+        for (char c : plaintext.toCharArray()) {
+            ciphertext.append(c >= 'A' && c <= 'Z' ? (char) ('A' + inverse[c - 'A']) : c);
+        }
+        return ciphertext.toString();
+    }
+
+    // Returns the plain text that key deciphers ciphertext to; non-letters are kept.
+    public static String decrypt(String ciphertext, int[] key) {
+        StringBuilder plaintext = new StringBuilder();
+        for (char c : ciphertext.toCharArray()) {
+            plaintext.append(c >= 'A' && c <= 'Z' ? (char) ('A' + key[c - 'A']) : c);
+        }
+        return plaintext.toString();
+    }
+
+    public static void assertPermutation(int[] key) {
+        assertEquals(ALPHABET_SIZE, key.length, "Key length incorrect");
+        boolean[] used = new boolean[ALPHABET_SIZE];
+        for (int plain : key) {
+            assertFalse(used[plain], "Key is not a permutation");
+            used[plain] = true;
+        }
+    }
+}
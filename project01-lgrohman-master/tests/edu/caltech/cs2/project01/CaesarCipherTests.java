@@ -1,12 +1,17 @@
 package edu.caltech.cs2.project01;
 
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import java.io.*;
+import java.nio.CharBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Random;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -134,4 +139,115 @@ public class CaesarCipherTests {
         System.out.println(output);
         assertEquals("Type text to encrypt: Type a number to rotate by: " + expected + "\n", output.replaceAll("\r\n", "\n"));
     }
-}
\ No newline at end of file
+
+    // Rotates c as translationTable documents: letters within their case, everything else unchanged.
+    private static int expectedRot(int c, int amount) {
+        if (c >= 'A' && c <= 'Z') {
+            return 'A' + Math.floorMod(c - 'A' + amount, 26);
+        }
+        if (c >= 'a' && c <= 'z') {
+            return 'a' + Math.floorMod(c - 'a' + amount, 26);
+        }
+        return c;
+    }
+
+    @Order(5)
+    @Tag("D")
+    @ParameterizedTest(name = "amount = {0}")
+    @DisplayName("Test translationTable(int)")
+    @ValueSource(ints = { -53, -27, -26, -1, 0, 1, 13, 25, 26, 27, 53 })
+    public void testTranslationTable(int amount) {
+        byte[] table = CaesarCipher.translationTable(amount);
+        Assertions.assertEquals(256, table.length, "Table length incorrect");
+        for (int i = 0; i < table.length; i++) {
+            Assertions.assertEquals(expectedRot(i, amount), table[i] & 0xFF, "Translation of byte " + i + " incorrect");
+        }
+        table['A'] = '?';
+        Assertions.assertEquals(expectedRot('A', amount), CaesarCipher.translationTable(amount)['A'],
+                "Changing a returned table changed the next one");
+    }
+
+    @Order(6)
+    @Tag("D")
+    @ParameterizedTest(name = "amount = {0}")
+    @DisplayName("Test rot(byte[], int, int, int)")
+    @ValueSource(ints = { -53, -27, -1, 0, 3, 26, 27, 53 })
+    public void testRotBytes(int amount) {
+        byte[] original = new byte[300];
+        for (int i = 0; i < original.length; i++) {
+            original[i] = (byte) i;
+        }
+        byte[] buf = original.clone();
+        CaesarCipher.rot(buf, 20, 250, amount);
+        for (int i = 0; i < buf.length; i++) {
+            int expected = i >= 20 && i < 270 ? expectedRot(original[i] & 0xFF, amount) : original[i] & 0xFF;
+            Assertions.assertEquals(expected, buf[i] & 0xFF, "Byte " + i + " incorrect");
+        }
+    }
+
+    @Order(7)
+    @Tag("D")
+    @ParameterizedTest(name = "amount = {0}")
+    @DisplayName("Test rot(CharBuffer, int)")
+    @ValueSource(ints = { -27, -1, 0, 3, 29 })
+    public void testRotCharBuffer(int amount) {
+        String text = "Hello, World! \u00E9\u2603 xyz ABC";
+        char[] chars = text.toCharArray();
+        CharBuffer buf = CharBuffer.wrap(chars);
+        buf.position(2).limit(text.length() - 2);
+        CaesarCipher.rot(buf, amount);
+        Assertions.assertEquals(2, buf.position(), "Position changed");
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int expected = i >= 2 && i < text.length() - 2 ? expectedRot(c, amount) : c;
+            Assertions.assertEquals(expected, chars[i], "Character " + i + " incorrect");
+        }
+    }
+
+    @Order(8)
+    @Tag("D")
+    @ParameterizedTest(name = "amount = {0}")
+    @DisplayName("Test rot(Path, Path, int)")
+    @ValueSource(ints = { -27, -1, 7, 26, 40 })
+    public void testRotPath(int amount, @TempDir Path dir) throws IOException {
+        // Longer than the stream buffer, so the file is rotated in several chunks.
+        byte[] original = new byte[(1 << 20) * 2 + 12345];
+        new Random(amount).nextBytes(original);
+        Path in = dir.resolve("in.txt");
+        Path out = dir.resolve("out.txt");
+        Files.write(in, original);
+        Files.writeString(out, "longer than nothing");
+
+        CaesarCipher.rot(in, out, amount);
+        byte[] expected = original.clone();
+        CaesarCipher.rot(expected, 0, expected.length, amount);
+        Assertions.assertArrayEquals(expected, Files.readAllBytes(out), "Rotated file incorrect");
+        Assertions.assertArrayEquals(original, Files.readAllBytes(in), "Input file changed");
+
+        Path back = dir.resolve("back.txt");
+        CaesarCipher.rot(out, back, -amount);
+        Assertions.assertArrayEquals(original, Files.readAllBytes(back), "Rotating back did not restore the file");
+    }
+
+    @Order(9)
+    @Tag("D")
+    @DisplayName("Test rot(Path, Path, int) with empty files and the same file twice")
+    @Test
+    public void testRotPathEdges(@TempDir Path dir) throws IOException {
+        Path empty = dir.resolve("empty.txt");
+        Files.createFile(empty);
+        Path out = dir.resolve("out.txt");
+        CaesarCipher.rot(empty, out, 3);
+        Assertions.assertEquals(0, Files.size(out), "Rotated empty file not empty");
+
+        Path in = dir.resolve("in.txt");
+        Files.writeString(in, "HELLO, world");
+        Files.createDirectory(dir.resolve("sub"));
+        for (Path same : new Path[] { in, dir.resolve("sub").resolve("..").resolve("in.txt") }) {
+            IllegalArgumentException e = Assertions.assertThrows(IllegalArgumentException.class,
+                    () -> CaesarCipher.rot(in, same, 3), "Same file accepted");
+            Assertions.assertEquals("in and out must be different files", e.getMessage(), "Message incorrect");
+        }
+        Assertions.assertEquals("HELLO, world", Files.readString(in), "Input file changed");
+    }
+}
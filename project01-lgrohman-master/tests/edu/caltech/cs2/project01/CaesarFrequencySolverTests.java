@@ -0,0 +1,135 @@
+package edu.caltech.cs2.project01;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class CaesarFrequencySolverTests {
+    private static DictionaryIndex dictionary;
+
+    @BeforeAll
+    public static void loadDictionary() {
+        dictionary = DictionaryIndex.load();
+    }
+
+    // Every rotation of ciphertext where more than half of the words are in the dictionary, by brute force.
+    private static List<String> bruteForce(String ciphertext) {
+        List<String> found = new ArrayList<>();
+        List<String> words = CaesarCipherSolver.splitBySpaces(ciphertext);
+        for (int amount = 0; amount < CaesarCipher.ALPHABET.length; amount++) {
+            List<String> rotated = new ArrayList<>(words);
+            CaesarCipherSolver.rot(rotated, amount);
+            if (dictionary.countMatches(rotated) > words.size() / 2.0) {
+                found.add(CaesarCipherSolver.putTogetherWithSpaces(rotated));
+            }
+        }
+        return found;
+    }
+
+    // Rotates every word of sentence, keeping the spaces.
+    private static String rotSentence(String sentence, int amount) {
+        List<String> words = CaesarCipherSolver.splitBySpaces(sentence);
+        CaesarCipherSolver.rot(words, amount);
+        return CaesarCipherSolver.putTogetherWithSpaces(words);
+    }
+
+    @Order(0)
+    @Tag("B")
+    @DisplayName("Test histogram counts upper-case letters only")
+    @Test
+    public void testHistogram() {
+        int[] counts = CaesarFrequencySolver.histogram("HELLO, world! ZZ");
+        int[] expected = new int[CaesarCipher.ALPHABET.length];
+        expected['H' - 'A'] = 1;
+        expected['E' - 'A'] = 1;
+        expected['L' - 'A'] = 2;
+        expected['O' - 'A'] = 1;
+        expected['Z' - 'A'] = 2;
+        Assertions.assertArrayEquals(expected, counts, "Histogram incorrect");
+        Assertions.assertArrayEquals(new int[CaesarCipher.ALPHABET.length], CaesarFrequencySolver.histogram(""),
+                "Histogram of empty text incorrect");
+    }
+
+    @Order(1)
+    @Tag("B")
+    @DisplayName("Test chiSquared against rotating the text itself")
+    @ParameterizedTest(name = "amount = {0}")
+    @ValueSource(ints = {0, 1, 7, 13, 25})
+    public void testChiSquared(int amount) {
+        int[] histogram = CaesarFrequencySolver.histogram(CaesarCipherSolverTests.CONSTITUTION);
+        int[] rotated = CaesarFrequencySolver.histogram(rotSentence(CaesarCipherSolverTests.CONSTITUTION, amount));
+        for (int shift = 0; shift < CaesarCipher.ALPHABET.length; shift++) {
+            Assertions.assertEquals(CaesarFrequencySolver.chiSquared(histogram, shift),
+                    CaesarFrequencySolver.chiSquared(rotated, shift - amount), 1e-9,
+                    "chiSquared of the rotated histogram incorrect");
+        }
+
+        double expected = 0.0;
+        long total = CaesarCipherSolverTests.CONSTITUTION.replace(" ", "").length();
+        for (int i = 0; i < histogram.length; i++) {
+            double count = total * CaesarFrequencySolver.ENGLISH_FREQUENCIES[i];
+            expected += (histogram[i] - count) * (histogram[i] - count) / count;
+        }
+        Assertions.assertEquals(expected, CaesarFrequencySolver.chiSquared(histogram, 0), 1e-9,
+                "chiSquared incorrect");
+        Assertions.assertEquals(0.0, CaesarFrequencySolver.chiSquared(new int[CaesarCipher.ALPHABET.length], amount),
+                "chiSquared of empty text incorrect");
+    }
+
+    @Order(2)
+    @Tag("B")
+    @DisplayName("Test rankRotations orders every rotation by chiSquared and ranks the decryption first")
+    @ParameterizedTest(name = "amount = {0}")
+    @ValueSource(ints = {0, 1, 7, 13, 25})
+    public void testRankRotations(int amount) {
+        int[] histogram = CaesarFrequencySolver.histogram(rotSentence(CaesarCipherSolverTests.DECLARATION, amount));
+        int[] order = CaesarFrequencySolver.rankRotations(histogram);
+        Assertions.assertEquals(CaesarCipher.ALPHABET.length, order.length, "Number of rotations incorrect");
+        boolean[] seen = new boolean[order.length];
+        for (int i = 0; i < order.length; i++) {
+            Assertions.assertFalse(seen[order[i]], "Rotation " + order[i] + " ranked twice");
+            seen[order[i]] = true;
+            if (i > 0) {
+                Assertions.assertTrue(CaesarFrequencySolver.chiSquared(histogram, order[i - 1])
+                        <= CaesarFrequencySolver.chiSquared(histogram, order[i]), "Rotations out of order");
+            }
+        }
+        Assertions.assertEquals((26 - amount) % 26, order[0], "Best rotation incorrect");
+    }
+
+    @Order(3)
+    @Tag("B")
+    @DisplayName("Test solve finds the plain text first, and only decryptions brute force finds")
+    @ParameterizedTest(name = "amount = {0}")
+    @ValueSource(ints = {0, 1, 5, 13, 20, 25})
+    public void testSolve(int amount) {
+        for (String plaintext : List.of(CaesarCipherSolverTests.DECLARATION, CaesarCipherSolverTests.CONSTITUTION,
+                "ATTACK AT DAWN", "GO TEAM")) {
+            String ciphertext = rotSentence(plaintext, amount);
+            List<String> found = CaesarFrequencySolver.solve(ciphertext, dictionary,
+                    CaesarFrequencySolver.DEFAULT_CANDIDATES);
+            Assertions.assertFalse(found.isEmpty(), "No decryption of " + ciphertext + " found");
+            Assertions.assertEquals(plaintext, found.get(0), "Most likely decryption incorrect");
+            Assertions.assertTrue(bruteForce(ciphertext).containsAll(found), "Decryption brute force rejects found");
+        }
+    }
+
+    @Order(4)
+    @Tag("B")
+    @DisplayName("Test solve keeps looking past the candidates until a decryption matches")
+    @Test
+    public void testSolveFallback() {
+        for (int amount = 0; amount < CaesarCipher.ALPHABET.length; amount++) {
+            String ciphertext = rotSentence("GO TEAM", amount);
+            List<String> found = CaesarFrequencySolver.solve(ciphertext, dictionary, 0);
+            Assertions.assertEquals(1, found.size(), "Fallback should stop at the first match");
+            Assertions.assertTrue(bruteForce(ciphertext).contains(found.get(0)), "Fallback decryption incorrect");
+        }
+        Assertions.assertEquals(bruteForce("XQXQX ZZZZZZZ"), CaesarFrequencySolver.solve("XQXQX ZZZZZZZ", dictionary,
+                CaesarFrequencySolver.DEFAULT_CANDIDATES), "Text with no decryption incorrect");
+    }
+}
@@ -0,0 +1,89 @@
+package edu.caltech.cs2.project01;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class DictionaryIndexTests {
+
+    private static String randomWord(Random random) {
+        char[] word = new char[1 + random.nextInt(8)];
+        for (int i = 0; i < word.length; i++) {
+            word[i] = (char) ('A' + random.nextInt(QuadGramLikelihoods.ALPHABET_SIZE));
+        }
+        return new String(word);
+    }
+
+    @Order(0)
+    @Tag("B")
+    @DisplayName("Test that every dictionary word is found")
+    @ParameterizedTest(name = "bloomFilter = {0}")
+    @ValueSource(booleans = {false, true})
+    public void testContainsDictionary(boolean bloomFilter) {
+        List<String> dictionary = CaesarCipherSolver.getDictionary();
+        DictionaryIndex index = new DictionaryIndex(dictionary, bloomFilter);
+        Assertions.assertEquals(new HashSet<>(dictionary).size(), index.size(), "Size incorrect");
+        for (String word : dictionary) {
+            Assertions.assertTrue(index.contains(word), word + " not found");
+            Assertions.assertTrue(index.contains(new StringBuilder(word)), word + " not found as a StringBuilder");
+        }
+    }
+
+    @Order(1)
+    @Tag("B")
+    @DisplayName("Test membership of random words against a HashSet")
+    @ParameterizedTest(name = "bloomFilter = {0}")
+    @ValueSource(booleans = {false, true})
+    public void testContainsRandom(boolean bloomFilter) {
+        List<String> dictionary = CaesarCipherSolver.getDictionary();
+        Set<String> expected = new HashSet<>(dictionary);
+        DictionaryIndex index = new DictionaryIndex(dictionary, bloomFilter);
+        Random random = new Random(148);
+        for (int i = 0; i < 100000; i++) {
+            String word = randomWord(random);
+            Assertions.assertEquals(expected.contains(word), index.contains(word), "Membership of " + word + " incorrect");
+        }
+    }
+
+    @Order(2)
+    @Tag("B")
+    @DisplayName("Test small indexes, duplicates and prefixes")
+    @ParameterizedTest(name = "bloomFilter = {0}")
+    @ValueSource(booleans = {false, true})
+    public void testSmall(boolean bloomFilter) {
+        DictionaryIndex empty = new DictionaryIndex(new ArrayList<>(), bloomFilter);
+        Assertions.assertEquals(0, empty.size(), "Size of empty index incorrect");
+        Assertions.assertFalse(empty.contains("A"), "Empty index contains a word");
+        Assertions.assertFalse(empty.contains(""), "Empty index contains the empty word");
+
+        DictionaryIndex index = new DictionaryIndex(List.of("THE", "THEN", "THE", "", "A"), bloomFilter);
+        Assertions.assertEquals(4, index.size(), "Duplicates counted");
+        for (String word : List.of("THE", "THEN", "", "A")) {
+            Assertions.assertTrue(index.contains(word), word + " not found");
+        }
+        for (String word : List.of("TH", "THENS", "HE", "AA", "the")) {
+            Assertions.assertFalse(index.contains(word), word + " found");
+        }
+    }
+
+    @Order(3)
+    @Tag("B")
+    @DisplayName("Test countMatches")
+    @ParameterizedTest(name = "bloomFilter = {0}")
+    @ValueSource(booleans = {false, true})
+    public void testCountMatches(boolean bloomFilter) {
+        DictionaryIndex index = new DictionaryIndex(List.of("THE", "QUICK", "FOX"), bloomFilter);
+        List<String> words = List.of("THE", "QUICK", "BROWN", "FOX", "THE", "DOG");
+        Assertions.assertEquals(4, index.countMatches(words), "countMatches of a list incorrect");
+        Assertions.assertEquals(4, index.countMatches(words.toArray(new CharSequence[0])),
+                "countMatches of an array incorrect");
+        Assertions.assertEquals(0, index.countMatches(new ArrayList<String>()), "countMatches of no words incorrect");
+    }
+}
@@ -0,0 +1,78 @@
+package edu.caltech.cs2.project01;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class JfrSolverListenerTests {
+    private static final String EVENT = "edu.caltech.cs2.project01.Search";
+
+    private static SearchStats search(int restart, long tried) {
+        SearchStats stats = new SearchStats(restart);
+        stats.begin(-1000.0 - restart);
+        stats.count(tried, tried / 2, tried + 1);
+        stats.end(-500.0 + restart);
+        return stats;
+    }
+
+    @Order(0)
+    @Tag("B")
+    @DisplayName("Test that every search is committed as an event with its stats")
+    @Test
+    public void testEvents(@TempDir Path dir) throws IOException {
+        JfrSolverListener listener = new JfrSolverListener();
+        Path file = dir.resolve("search.jfr");
+        SearchStats[] searches = {search(0, 100), search(1, 250), search(2, 0)};
+        try (Recording recording = new Recording()) {
+            recording.enable(EVENT);
+            recording.start();
+            for (SearchStats stats : searches) {
+                listener.onSearchFinished(stats);
+            }
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(EVENT))
+                .sorted(Comparator.comparingInt(event -> event.getInt("restart")))
+                .collect(Collectors.toList());
+        Assertions.assertEquals(searches.length, events.size(), "Number of events incorrect");
+        for (int i = 0; i < searches.length; i++) {
+            RecordedEvent event = events.get(i);
+            SearchStats stats = searches[i];
+            Assertions.assertEquals(stats.getRestart(), event.getInt("restart"), "Restart incorrect");
+            Assertions.assertEquals(stats.getSwapsTried(), event.getLong("swapsTried"), "Swaps tried incorrect");
+            Assertions.assertEquals(stats.getSwapsAccepted(), event.getLong("swapsAccepted"),
+                    "Swaps accepted incorrect");
+            Assertions.assertEquals(stats.getEvaluations(), event.getLong("evaluations"), "Evaluations incorrect");
+            Assertions.assertEquals(stats.getStartScore(), event.getDouble("startScore"), "Start score incorrect");
+            Assertions.assertEquals(stats.getFinalScore(), event.getDouble("finalScore"), "Final score incorrect");
+            Assertions.assertEquals(Duration.ofNanos(stats.getElapsedNanos()), event.getDuration("elapsed"),
+                    "Elapsed time incorrect");
+        }
+    }
+
+    @Order(1)
+    @Tag("B")
+    @DisplayName("Test that searches are dropped quietly when no recording is on")
+    @Test
+    public void testNoRecording() {
+        JfrSolverListener listener = new JfrSolverListener();
+        Assertions.assertDoesNotThrow(() -> {
+            for (int i = 0; i < 1000; i++) {
+                listener.onSearchFinished(search(i, i));
+            }
+        }, "Listener failed without a recording");
+    }
+}
@@ -0,0 +1,101 @@
+package edu.caltech.cs2.project01;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Random;
+
+import static edu.caltech.cs2.helpers.SubstitutionKeys.randomKey;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class NGramLikelihoodsTests {
+    @Order(0)
+    @Tag("B")
+    @DisplayName("Test score against the sum of every n-gram of the plain text")
+    @ParameterizedTest(name = "order = {0}")
+    @ValueSource(ints = {2, 3, 4, 5})
+    public void testScore(int order) throws IOException {
+        NGramLikelihoods model = NGramLikelihoods.fromCorpus(Paths.get("plaintext.txt"), order);
+        Assertions.assertEquals(order, model.getOrder(), "Order incorrect");
+
+        String ciphertext = Files.readString(Paths.get("cryptogram.txt"));
+        int[] key = randomKey(new Random(order));
+        StringBuilder plaintext = new StringBuilder();
+        for (int i = 0; i < ciphertext.length(); i++) {
+            int letter = ciphertext.charAt(i) - 'A';
+            if (letter >= 0 && letter < QuadGramLikelihoods.ALPHABET_SIZE) {
+                plaintext.append((char) ('A' + key[letter]));
+            }
+        }
+        double expected = 0.0;
+        for (int i = 0; i + order <= plaintext.length(); i++) {
+            expected += model.get(plaintext.substring(i, i + order));
+        }
+        Assertions.assertEquals(expected, new SubstitutionScorer(ciphertext, model).score(key), 1e-6,
+                "Score does not match the sum of the n-gram likelihoods");
+    }
+
+    @Order(1)
+    @Tag("B")
+    @DisplayName("Test swapDelta against rescoring for every order")
+    @ParameterizedTest(name = "order = {0}")
+    @ValueSource(ints = {2, 3, 4, 5})
+    public void testSwapDelta(int order) throws IOException {
+        NGramLikelihoods model = NGramLikelihoods.fromCorpus(Paths.get("plaintext.txt"), order);
+        String ciphertext = Files.readString(Paths.get("cryptogram.txt"));
+        SubstitutionScorer scorer = new SubstitutionScorer(ciphertext, model);
+        Random random = new Random(order);
+        for (int trial = 0; trial < 5; trial++) {
+            int[] key = randomKey(random);
+            double score = scorer.score(key);
+            for (int a = 0; a < key.length; a++) {
+                for (int b = a + 1; b < key.length; b++) {
+                    int[] swapped = key.clone();
+                    SubstitutionScorer.swap(swapped, a, b);
+                    Assertions.assertEquals(scorer.score(swapped) - score, scorer.swapDelta(key, a, b), 1e-6,
+                            "swapDelta of " + (char) ('A' + a) + " and " + (char) ('A' + b) + " incorrect");
+                }
+            }
+        }
+    }
+
+    @Order(2)
+    @Tag("B")
+    @DisplayName("Test n-grams that never appear get the not-found likelihood")
+    @ParameterizedTest(name = "order = {0}")
+    @ValueSource(ints = {2, 3, 4, 5})
+    public void testNotFound(int order) throws IOException {
+        NGramLikelihoods model = NGramLikelihoods.fromCorpus(Paths.get("plaintext.txt"), order);
+        // Likelihoods are stored as floats.
+        Assertions.assertEquals(model.getNotFoundLikelihood(), model.get("QQQQQ".substring(0, order)), 1e-5,
+                "Unseen n-gram likelihood incorrect");
+        Assertions.assertEquals(model.getNotFoundLikelihood(), model.get("T!EST".substring(0, order)),
+                "Likelihood of an n-gram with other characters incorrect");
+        Assertions.assertTrue(model.get("THEST".substring(0, order)) > model.getNotFoundLikelihood(),
+                "Likelihood of a seen n-gram incorrect");
+    }
+
+    @Order(3)
+    @Tag("B")
+    @DisplayName("Test the order 4 model of english_quadgrams.txt against QuadGramLikelihoods")
+    @Test
+    public void testQuadGramLikelihoods() throws IOException {
+        NGramLikelihoods model = NGramLikelihoods.fromFrequencyFile(Paths.get("english_quadgrams.txt"), 4);
+        QuadGramLikelihoods qgl = new QuadGramLikelihoods();
+        Assertions.assertEquals(qgl.getNotFoundLikelihood(), model.getNotFoundLikelihood(), 1e-12,
+                "Not-found likelihood incorrect");
+        for (int packed = 0; packed < QuadGramLikelihoods.TABLE_SIZE; packed++) {
+            // Likelihoods are stored as floats.
+            Assertions.assertEquals(qgl.get(packed), model.get(packed), 1e-5, "Likelihood of " + packed + " incorrect");
+        }
+
+        String ciphertext = Files.readString(Paths.get("cryptogram.txt"));
+        int[] key = randomKey(new Random(4));
+        Assertions.assertEquals(new SubstitutionScorer(ciphertext, qgl).score(key),
+                new SubstitutionScorer(ciphertext, model).score(key), 1e-3, "Score incorrect");
+    }
+}
@@ -0,0 +1,109 @@
+package edu.caltech.cs2.project01;
+
+import edu.caltech.cs2.project01.interfaces.ISearchStrategy;
+import edu.caltech.cs2.project01.strategies.HillClimbingStrategy;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class ParallelSubstitutionSolverTests {
+    private static final String CIPHERTEXT = "GSV JFRXP YILDM ULC QFNKH LEVI GSV OZAB WLT";
+
+    private static QuadGramLikelihoods likelihoods;
+
+    @BeforeAll
+    public static void loadLikelihoods() throws IOException {
+        likelihoods = new QuadGramLikelihoods();
+    }
+
+    // Reports a score one higher with every swap it tries and never finishes
+    // until told to stop.
+    private static final ISearchStrategy CLIMB_FOREVER = (scorer, key, random, stop, stats) -> {
+        stats.begin(0);
+        long tried = 0;
+        while (!stop.getAsBoolean()) {
+            tried++;
+            stats.improved(tried, tried);
+        }
+        stats.count(tried, tried, tried);
+        stats.end(tried);
+        return tried;
+    };
+
+    @Order(0)
+    @Tag("B")
+    @DisplayName("Test that a restart stops as soon as it reports a score above the threshold")
+    @ParameterizedTest(name = "parallelism = {0}")
+    @ValueSource(ints = {1, 4})
+    public void testScoreThreshold(int parallelism) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            ParallelSubstitutionSolver solver = new ParallelSubstitutionSolver(likelihoods, CLIMB_FOREVER, pool, 148);
+            List<SearchStats> finished = new CopyOnWriteArrayList<>();
+            solver.addListener(finished::add);
+            Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10),
+                    () -> solver.solve(CIPHERTEXT, 16, 100, Long.MAX_VALUE), "Solve did not stop at the threshold");
+
+            Assertions.assertFalse(finished.isEmpty(), "No restart ran");
+            Assertions.assertTrue(finished.size() <= parallelism, "Restarts started after the threshold was reached");
+            for (SearchStats stats : finished) {
+                Assertions.assertTrue(stats.getSwapsTried() <= 100, "Restart ran past the threshold");
+            }
+            if (parallelism == 1) {
+                Assertions.assertEquals(100, finished.get(0).getSwapsTried(), "Swaps tried incorrect");
+            }
+        }
+        finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Order(1)
+    @Tag("B")
+    @DisplayName("Test that restarts stop once the time budget has passed")
+    @Test
+    public void testTimeBudget() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            ParallelSubstitutionSolver solver = new ParallelSubstitutionSolver(likelihoods, CLIMB_FOREVER, pool, 327);
+            List<SearchStats> finished = new CopyOnWriteArrayList<>();
+            solver.addListener(finished::add);
+            long start = System.nanoTime();
+            Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10),
+                    () -> solver.solve(CIPHERTEXT, 16, Double.POSITIVE_INFINITY, 200),
+                    "Solve did not stop when the time budget passed");
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            Assertions.assertTrue(elapsedMillis >= 200, "Solve stopped before the time budget passed");
+            Assertions.assertTrue(finished.size() <= 2, "Restarts started after the time budget passed");
+        }
+        finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Order(2)
+    @Tag("B")
+    @DisplayName("Test that solvers with the same seed find the same key")
+    @Test
+    public void testSameSeed() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            SubstitutionCipher first = new ParallelSubstitutionSolver(likelihoods, new HillClimbingStrategy(), pool, 608)
+                    .solve(CIPHERTEXT, 8);
+            SubstitutionCipher second = new ParallelSubstitutionSolver(likelihoods, new HillClimbingStrategy(), pool, 608)
+                    .solve(CIPHERTEXT, 8);
+            Assertions.assertEquals(first.getPlainText(), second.getPlainText(), "Solutions from the same seed differ");
+        }
+        finally {
+            pool.shutdownNow();
+        }
+    }
+}
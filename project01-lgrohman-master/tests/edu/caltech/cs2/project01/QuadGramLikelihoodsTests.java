@@ -0,0 +1,108 @@
+package edu.caltech.cs2.project01;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static edu.caltech.cs2.helpers.SubstitutionKeys.randomKey;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class QuadGramLikelihoodsTests {
+    private static QuadGramLikelihoods likelihoods;
+
+    @BeforeAll
+    public static void loadLikelihoods() throws IOException {
+        likelihoods = new QuadGramLikelihoods();
+    }
+
+    @Order(0)
+    @Tag("B")
+    @DisplayName("Test that a compiled model maps back to the same likelihoods")
+    @Test
+    public void testCompileRoundTrip(@TempDir Path dir) throws IOException {
+        Path model = dir.resolve(QuadGramModelCompiler.DEFAULT_MODEL);
+        QuadGramModelCompiler.compile(likelihoods, model);
+        long size = QuadGramLikelihoods.MODEL_HEADER_BYTES + (long) QuadGramLikelihoods.TABLE_SIZE * Double.BYTES;
+        Assertions.assertEquals(size, Files.size(model), "Compiled model size incorrect");
+
+        QuadGramLikelihoods mapped = QuadGramLikelihoods.load(model);
+        Assertions.assertEquals(likelihoods.getNotFoundLikelihood(), mapped.getNotFoundLikelihood(),
+                "Not-found likelihood incorrect");
+        for (int packed = 0; packed < QuadGramLikelihoods.TABLE_SIZE; packed++) {
+            Assertions.assertEquals(likelihoods.get(packed), mapped.get(packed),
+                    "Likelihood of " + packed + " incorrect");
+        }
+        Assertions.assertArrayEquals(likelihoods.toArray(), mapped.toArray(), "Table incorrect");
+        Assertions.assertEquals(likelihoods.get("TION"), mapped.get("TION"), "Likelihood of TION incorrect");
+        Assertions.assertEquals(mapped.getNotFoundLikelihood(), mapped.get("T!ON"), "Likelihood of T!ON incorrect");
+
+        String ciphertext = Files.readString(Paths.get("cryptogram.txt"));
+        int[] key = randomKey(new Random(148));
+        Assertions.assertEquals(new SubstitutionScorer(ciphertext, likelihoods).score(key),
+                new SubstitutionScorer(ciphertext, mapped).score(key), "Score incorrect");
+    }
+
+    @Order(1)
+    @Tag("B")
+    @DisplayName("Test that compiling over a model replaces it and leaves no temporary files")
+    @Test
+    public void testCompileReplaces(@TempDir Path dir) throws IOException {
+        Path model = dir.resolve(QuadGramModelCompiler.DEFAULT_MODEL);
+        Files.writeString(model, "not a model");
+        QuadGramModelCompiler.compile(likelihoods, model);
+        Assertions.assertEquals(likelihoods.get(QuadGramLikelihoods.pack("THAT")),
+                QuadGramLikelihoods.load(model).get(QuadGramLikelihoods.pack("THAT")), "Model not replaced");
+        try (Stream<Path> files = Files.list(dir)) {
+            Assertions.assertEquals(1, files.count(), "Temporary file left behind");
+        }
+    }
+
+    @Order(2)
+    @Tag("B")
+    @DisplayName("Test that files which are not compiled models are rejected")
+    @Test
+    public void testRejectsOtherFiles(@TempDir Path dir) throws IOException {
+        Path model = dir.resolve(QuadGramModelCompiler.DEFAULT_MODEL);
+        Files.writeString(model, "not a model");
+        Assertions.assertThrows(IOException.class, () -> QuadGramLikelihoods.load(model), "Text file accepted");
+
+        QuadGramModelCompiler.compile(likelihoods, model);
+        byte[] bytes = Files.readAllBytes(model);
+        bytes[0] ^= 1;
+        Files.write(model, bytes);
+        Assertions.assertThrows(IOException.class, () -> QuadGramLikelihoods.load(model), "Bad magic accepted");
+    }
+
+    @Order(3)
+    @Tag("B")
+    @DisplayName("Test that load falls back to english_quadgrams.txt without a compiled model")
+    @Test
+    public void testLoadFallback(@TempDir Path dir) throws IOException {
+        QuadGramLikelihoods loaded = QuadGramLikelihoods.load(dir.resolve(QuadGramModelCompiler.DEFAULT_MODEL));
+        Assertions.assertEquals(likelihoods.getNotFoundLikelihood(), loaded.getNotFoundLikelihood(),
+                "Not-found likelihood incorrect");
+        Assertions.assertArrayEquals(likelihoods.toArray(), loaded.toArray(), "Table incorrect");
+    }
+
+    @Order(4)
+    @Tag("B")
+    @DisplayName("Test that sharedArray gives every caller the same copy of the table")
+    @Test
+    public void testSharedArray(@TempDir Path dir) throws IOException {
+        Assertions.assertSame(likelihoods.sharedArray(), likelihoods.sharedArray(), "Parsed table copied");
+        Assertions.assertArrayEquals(likelihoods.toArray(), likelihoods.sharedArray(), "Parsed table incorrect");
+
+        Path model = dir.resolve(QuadGramModelCompiler.DEFAULT_MODEL);
+        QuadGramModelCompiler.compile(likelihoods, model);
+        QuadGramLikelihoods mapped = QuadGramLikelihoods.load(model);
+        double[] table = mapped.sharedArray();
+        Assertions.assertSame(table, mapped.sharedArray(), "Mapped table gathered twice");
+        Assertions.assertArrayEquals(likelihoods.toArray(), table, "Mapped table incorrect");
+    }
+}
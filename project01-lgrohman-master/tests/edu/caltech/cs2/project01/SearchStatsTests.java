@@ -0,0 +1,79 @@
+package edu.caltech.cs2.project01;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class SearchStatsTests {
+    @Order(0)
+    @Tag("B")
+    @DisplayName("Test the counters and scores of a search")
+    @Test
+    public void testCounters() {
+        SearchStats stats = new SearchStats(7);
+        Assertions.assertEquals(7, stats.getRestart(), "Restart incorrect");
+        Assertions.assertTrue(Double.isNaN(stats.getStartScore()), "Start score before begin incorrect");
+        Assertions.assertTrue(Double.isNaN(stats.getBestScore()), "Best score before begin incorrect");
+        Assertions.assertTrue(Double.isNaN(stats.getFinalScore()), "Final score before end incorrect");
+
+        stats.begin(-100.0);
+        stats.count(10, 3, 12);
+        stats.improved(4, -90.0);
+        stats.improved(6, -95.0);
+        stats.count(5, 1, 5);
+        stats.end(-80.0);
+
+        Assertions.assertEquals(15, stats.getSwapsTried(), "Swaps tried incorrect");
+        Assertions.assertEquals(4, stats.getSwapsAccepted(), "Swaps accepted incorrect");
+        Assertions.assertEquals(17, stats.getEvaluations(), "Evaluations incorrect");
+        Assertions.assertEquals(-100.0, stats.getStartScore(), "Start score incorrect");
+        Assertions.assertEquals(-90.0, stats.getBestScore(), "Best score incorrect");
+        Assertions.assertEquals(-80.0, stats.getFinalScore(), "Final score incorrect");
+        Assertions.assertTrue(stats.getElapsedNanos() >= 0, "Elapsed time incorrect");
+        Assertions.assertArrayEquals(new long[] {0, 4, 6}, stats.getTraceIterations(), "Trace iterations incorrect");
+        Assertions.assertArrayEquals(new double[] {-100.0, -90.0, -95.0}, stats.getTraceScores(),
+                "Trace scores incorrect");
+    }
+
+    @Order(1)
+    @Tag("B")
+    @DisplayName("Test that a long trace is thinned evenly and kept within MAX_TRACE_POINTS")
+    @ParameterizedTest(name = "improvements = {0}")
+    @ValueSource(ints = {10, 255, 256, 257, 1000, 100000})
+    public void testTraceThinning(int improvements) {
+        SearchStats stats = new SearchStats(0);
+        stats.begin(0);
+        for (int i = 1; i <= improvements; i++) {
+            stats.improved(i, i);
+        }
+        long[] iterations = stats.getTraceIterations();
+        double[] scores = stats.getTraceScores();
+        Assertions.assertEquals(iterations.length, scores.length, "Trace lengths differ");
+        Assertions.assertTrue(iterations.length <= SearchStats.MAX_TRACE_POINTS, "Trace too long");
+        Assertions.assertTrue(iterations.length > Math.min(improvements, SearchStats.MAX_TRACE_POINTS / 2),
+                "Trace thinned too far");
+
+        // Every point kept is one of every stride improvements, starting from begin.
+        long stride = iterations.length > 1 ? iterations[1] : 1;
+        for (int i = 0; i < iterations.length; i++) {
+            Assertions.assertEquals(i * stride, iterations[i], "Trace point " + i + " incorrect");
+            Assertions.assertEquals(iterations[i], scores[i], "Trace score " + i + " incorrect");
+        }
+        Assertions.assertEquals(improvements, stats.getBestScore(), "Best score incorrect");
+        Assertions.assertTrue(iterations[iterations.length - 1] + stride > improvements, "Trace ends too early");
+    }
+
+    @Order(2)
+    @Tag("B")
+    @DisplayName("Test that the trace getters return copies")
+    @Test
+    public void testTraceCopies() {
+        SearchStats stats = new SearchStats(0);
+        stats.begin(1.0);
+        stats.getTraceIterations()[0] = 5;
+        stats.getTraceScores()[0] = 5.0;
+        Assertions.assertArrayEquals(new long[] {0}, stats.getTraceIterations(), "Trace iterations changed");
+        Assertions.assertArrayEquals(new double[] {1.0}, stats.getTraceScores(), "Trace scores changed");
+    }
+}
@@ -0,0 +1,112 @@
+package edu.caltech.cs2.project01;
+
+import edu.caltech.cs2.project01.interfaces.ISearchStrategy;
+import edu.caltech.cs2.project01.interfaces.ISolverListener;
+import edu.caltech.cs2.project01.strategies.HillClimbingStrategy;
+import edu.caltech.cs2.project01.strategies.ParallelTemperingStrategy;
+import edu.caltech.cs2.project01.strategies.SimulatedAnnealingStrategy;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+import static edu.caltech.cs2.helpers.SubstitutionKeys.randomKey;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class SearchStrategyTests {
+    private static final int SEARCHES = 8;
+
+    private static QuadGramLikelihoods likelihoods;
+    private static String ciphertext;
+    private static SubstitutionScorer scorer;
+    private static double solvedScore;
+
+    @BeforeAll
+    public static void loadCryptogram() throws IOException {
+        likelihoods = new QuadGramLikelihoods();
+        ciphertext = Files.readString(Paths.get("cryptogram.txt"));
+        scorer = new SubstitutionScorer(ciphertext, likelihoods);
+
+        // plaintext.txt is the letters of cryptogram.txt deciphered, without the spaces and punctuation.
+        String letters = ciphertext.replaceAll("[^A-Z]", "");
+        String plaintext = Files.readString(Paths.get("plaintext.txt"));
+        int[] solution = SubstitutionScorer.identityKey();
+        for (int i = 0; i < letters.length(); i++) {
+            solution[letters.charAt(i) - 'A'] = plaintext.charAt(i) - 'A';
+        }
+        solvedScore = scorer.score(solution);
+    }
+
+    public static Stream<Arguments> strategies() {
+        return Stream.of(
+                Arguments.of("hill climbing", new HillClimbingStrategy(), 3, 10000),
+                Arguments.of("simulated annealing", new SimulatedAnnealingStrategy(), 7,
+                        SimulatedAnnealingStrategy.DEFAULT_STEPS),
+                Arguments.of("parallel tempering", new ParallelTemperingStrategy(), 6,
+                        (long) ParallelTemperingStrategy.DEFAULT_REPLICAS * ParallelTemperingStrategy.DEFAULT_SWEEP_LENGTH
+                                * ParallelTemperingStrategy.DEFAULT_SWEEPS)
+        );
+    }
+
+    @Order(0)
+    @Tag("B")
+    @DisplayName("Test that the default strategies solve cryptogram.txt within their swap budgets")
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("strategies")
+    public void testSolveQuality(String name, ISearchStrategy strategy, int minSolved, long maxSwaps) {
+        int solved = 0;
+        for (int seed = 0; seed < SEARCHES; seed++) {
+            int[] key = randomKey(new Random(seed));
+            SearchStats stats = new SearchStats(seed);
+            double score = strategy.search(scorer, key, new SplittableRandom(seed), () -> false, stats);
+            Assertions.assertEquals(scorer.score(key), score, 1e-6, "Returned score incorrect");
+            Assertions.assertTrue(stats.getSwapsTried() <= maxSwaps,
+                    "Search tried " + stats.getSwapsTried() + " swaps, more than " + maxSwaps);
+            if (score >= solvedScore - 1e-6) {
+                solved++;
+            }
+        }
+        Assertions.assertTrue(solved >= minSolved,
+                "Solved " + solved + " of " + SEARCHES + " searches, fewer than " + minSolved);
+    }
+
+    @Order(1)
+    @Tag("B")
+    @DisplayName("Test that parallel tempering traces against the swaps tried by every replica")
+    @Test
+    public void testParallelTemperingTrace() {
+        SearchStats stats = new SearchStats(0);
+        new ParallelTemperingStrategy().search(scorer, randomKey(new Random(148)), new SplittableRandom(148),
+                () -> false, stats);
+        long sweep = (long) ParallelTemperingStrategy.DEFAULT_REPLICAS * ParallelTemperingStrategy.DEFAULT_SWEEP_LENGTH;
+        long[] iterations = stats.getTraceIterations();
+        Assertions.assertTrue(iterations.length > 1, "No improvements traced");
+        for (long iteration : iterations) {
+            Assertions.assertEquals(0, iteration % sweep, "Trace point " + iteration + " is not at the end of a sweep");
+            Assertions.assertTrue(iteration <= stats.getSwapsTried(), "Trace point past the swaps tried");
+        }
+    }
+
+    @Order(2)
+    @Tag("B")
+    @DisplayName("Test that solving twice from the same seed finds the same key")
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("strategies")
+    public void testSameSeed(String name, ISearchStrategy strategy, int minSolved, long maxSwaps) {
+        SubstitutionCipher cipher = new SubstitutionCipher(ciphertext);
+        for (int seed = 0; seed < 3; seed++) {
+            SubstitutionCipher first = cipher.getSolution(likelihoods, strategy, new SplittableRandom(seed),
+                    ISolverListener.NONE);
+            SubstitutionCipher second = cipher.getSolution(likelihoods, strategy, new SplittableRandom(seed),
+                    ISolverListener.NONE);
+            Assertions.assertEquals(first.getPlainText(), second.getPlainText(), "Solutions from seed " + seed + " differ");
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package edu.caltech.cs2.project01;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static edu.caltech.cs2.helpers.SubstitutionKeys.assertPermutation;
+import static edu.caltech.cs2.helpers.SubstitutionKeys.decrypt;
+import static edu.caltech.cs2.helpers.SubstitutionKeys.encrypt;
+import static edu.caltech.cs2.helpers.SubstitutionKeys.randomKey;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class SolutionCacheTests {
+    private static final String PLAINTEXT = "THE QUICK BROWN FOX JUMPS OVER THE LAZY DOG";
+
+    @Order(0)
+    @Tag("B")
+    @DisplayName("Test canonicalForm")
+    @ParameterizedTest(name = "ciphertext = {0}")
+    @CsvSource({"'', ''", "XQX Y, ABA C", "ABA C, ABA C", "THAT, ABCA", "EXCE, ABCA", "HELLO WORLD!, ABCCD EDFCG!",
+            "zZ-Z, zA-A"})
+    public void testCanonicalForm(String ciphertext, String form) {
+        Assertions.assertEquals(form, SolutionCache.canonicalForm(ciphertext), "Canonical form incorrect");
+    }
+
+    @Order(1)
+    @Tag("B")
+    @DisplayName("Test that a solved key is remapped to re-keyed cipher texts")
+    @ParameterizedTest(name = "seed = {0}")
+    @CsvSource({"148", "327", "608", "610", "911"})
+    public void testRemap(int seed) {
+        Random random = new Random(seed);
+        SolutionCache cache = new SolutionCache();
+        String solved = encrypt(PLAINTEXT, randomKey(random));
+        Assertions.assertNull(cache.get(solved), "Empty cache returned a key");
+        cache.put(solved, randomKey(new Random(seed)));
+
+        for (int i = 0; i < 10; i++) {
+            String ciphertext = encrypt(PLAINTEXT, randomKey(random));
+            int[] key = cache.get(ciphertext);
+            Assertions.assertNotNull(key, "Re-keyed cipher text missed");
+            assertPermutation(key);
+            Assertions.assertEquals(PLAINTEXT, decrypt(ciphertext, key),
+                    "Remapped key deciphers to the wrong plain text");
+        }
+        Assertions.assertNull(cache.get(encrypt("THE QUICK BROWN FOX JUMPS OVER THE LAZY CAT", randomKey(random))),
+                "Cipher text with a different pattern hit");
+        Assertions.assertEquals(10, cache.getHits(), "Hits incorrect");
+        Assertions.assertEquals(2, cache.getMisses(), "Misses incorrect");
+    }
+
+    @Order(2)
+    @Tag("B")
+    @DisplayName("Test that the least recently used entry is evicted")
+    @Test
+    public void testEviction() {
+        SolutionCache cache = new SolutionCache(2);
+        cache.put("AB", SubstitutionScorer.identityKey());
+        cache.put("AA", SubstitutionScorer.identityKey());
+        Assertions.assertNotNull(cache.get("XY"), "Entry missing");
+        cache.put("ABA", SubstitutionScorer.identityKey());
+        Assertions.assertNull(cache.get("ZZ"), "Least recently used entry not evicted");
+        Assertions.assertNotNull(cache.get("CD"), "Recently used entry evicted");
+        Assertions.assertEquals(2, cache.size(), "Size incorrect");
+        Assertions.assertEquals(1, cache.getEvictions(), "Evictions incorrect");
+
+        cache.clear();
+        Assertions.assertEquals(0, cache.size(), "Size after clear incorrect");
+        Assertions.assertEquals(0.0, cache.getHitRate(), "Hit rate after clear incorrect");
+    }
+
+    @Order(3)
+    @Tag("B")
+    @DisplayName("Test that getKey solves each canonical form once")
+    @Test
+    public void testGetKey() {
+        Random random = new Random(148);
+        int[] solution = randomKey(random);
+        SolutionCache cache = new SolutionCache();
+        AtomicInteger solves = new AtomicInteger();
+        String first = encrypt(PLAINTEXT, solution);
+        int[] key = cache.getKey(first, ciphertext -> {
+            solves.incrementAndGet();
+            return solution;
+        });
+        Assertions.assertArrayEquals(solution, key, "Solved key incorrect");
+
+        String second = encrypt(PLAINTEXT, randomKey(random));
+        key = cache.getKey(second, ciphertext -> {
+            solves.incrementAndGet();
+            return SubstitutionScorer.identityKey();
+        });
+        Assertions.assertEquals(PLAINTEXT, decrypt(second, key), "Cached key incorrect");
+        Assertions.assertEquals(1, solves.get(), "Re-keyed cipher text solved again");
+        Assertions.assertEquals(1, cache.getHits(), "Hits incorrect");
+        Assertions.assertEquals(1, cache.getMisses(), "Misses incorrect");
+    }
+
+    @Order(4)
+    @Tag("B")
+    @DisplayName("Test that getKey waits for a solve already under way")
+    @Test
+    public void testGetKeyInFlight() throws Exception {
+        Random random = new Random(327);
+        int[] solution = randomKey(random);
+        SolutionCache cache = new SolutionCache();
+        AtomicInteger solves = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        try {
+            Future<int[]> solver = pool.submit(() -> cache.getKey(encrypt(PLAINTEXT, solution), ciphertext -> {
+                solves.incrementAndGet();
+                started.countDown();
+                try {
+                    release.await();
+                }
+                catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return solution;
+            }));
+            started.await();
+
+            String[] ciphertexts = {encrypt(PLAINTEXT, randomKey(random)), encrypt(PLAINTEXT, randomKey(random))};
+            @SuppressWarnings("unchecked")
+            Future<int[]>[] waiters = new Future[ciphertexts.length];
+            for (int i = 0; i < ciphertexts.length; i++) {
+                String ciphertext = ciphertexts[i];
+                waiters[i] = pool.submit(() -> cache.getKey(ciphertext, text -> {
+                    solves.incrementAndGet();
+                    return SubstitutionScorer.identityKey();
+                }));
+            }
+            // Both waiters count as hits as soon as they find the solve under way.
+            while (cache.getHits() < ciphertexts.length) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            Assertions.assertArrayEquals(solution, solver.get(), "Solved key incorrect");
+            for (int i = 0; i < ciphertexts.length; i++) {
+                Assertions.assertEquals(PLAINTEXT, decrypt(ciphertexts[i], waiters[i].get()),
+                        "Shared key incorrect");
+            }
+        }
+        finally {
+            pool.shutdownNow();
+        }
+        Assertions.assertEquals(1, solves.get(), "Cipher text solved more than once");
+        Assertions.assertEquals(1, cache.getMisses(), "Misses incorrect");
+        Assertions.assertEquals(1, cache.size(), "Size incorrect");
+    }
+}
@@ -0,0 +1,180 @@
+package edu.caltech.cs2.project01;
+
+import edu.caltech.cs2.project01.interfaces.ISolverListener;
+import edu.caltech.cs2.project01.strategies.HillClimbingStrategy;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+
+import static edu.caltech.cs2.helpers.SubstitutionKeys.encrypt;
+import static edu.caltech.cs2.helpers.SubstitutionKeys.randomKey;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class SolverMetricsTests {
+    private static final String PLAINTEXT = "WE THE PEOPLE OF THE UNITED STATES IN ORDER TO FORM A MORE PERFECT UNION";
+
+    private static QuadGramLikelihoods likelihoods;
+
+    @BeforeAll
+    public static void loadLikelihoods() throws IOException {
+        likelihoods = new QuadGramLikelihoods();
+    }
+
+    // A finished search that tried, accepted and evaluated the given number of swaps.
+    private static SearchStats search(int restart, long tried, long accepted, long evaluations) {
+        SearchStats stats = new SearchStats(restart);
+        stats.begin(0);
+        stats.count(tried, accepted, evaluations);
+        stats.end(0);
+        return stats;
+    }
+
+    @Order(0)
+    @Tag("B")
+    @DisplayName("Test that empty metrics report zero everywhere")
+    @Test
+    public void testEmpty() {
+        SolverMetrics metrics = new SolverMetrics();
+        Assertions.assertEquals(0, metrics.getSearches(), "Searches incorrect");
+        Assertions.assertEquals(0.0, metrics.getAcceptanceRate(), "Acceptance rate incorrect");
+        Assertions.assertEquals(0.0, metrics.getEvaluationsPerSecond(), "Evaluations per second incorrect");
+        Assertions.assertEquals(0, metrics.getSearchNanosPercentile(0.5), "Median search time incorrect");
+        Assertions.assertEquals(0, metrics.getSearchNanosPercentile(1.0), "Max search time incorrect");
+        Assertions.assertFalse(metrics.toString().contains("NaN"), "toString incorrect: " + metrics);
+    }
+
+    @Order(1)
+    @Tag("B")
+    @DisplayName("Test that counters, rates and reset follow the searches reported")
+    @Test
+    public void testCounters() {
+        SolverMetrics metrics = new SolverMetrics();
+        List<SearchStats> searches = List.of(search(0, 100, 10, 120), search(1, 300, 50, 300), search(2, 0, 0, 0));
+        long nanos = 0;
+        for (SearchStats stats : searches) {
+            metrics.onSearchFinished(stats);
+            nanos += stats.getElapsedNanos();
+        }
+        Assertions.assertEquals(3, metrics.getSearches(), "Searches incorrect");
+        Assertions.assertEquals(400, metrics.getSwapsTried(), "Swaps tried incorrect");
+        Assertions.assertEquals(60, metrics.getSwapsAccepted(), "Swaps accepted incorrect");
+        Assertions.assertEquals(420, metrics.getEvaluations(), "Evaluations incorrect");
+        Assertions.assertEquals(0.15, metrics.getAcceptanceRate(), 1e-12, "Acceptance rate incorrect");
+        if (nanos > 0) {
+            Assertions.assertEquals(420 * 1e9 / nanos, metrics.getEvaluationsPerSecond(), 1e-6,
+                    "Evaluations per second incorrect");
+        }
+        Assertions.assertTrue(metrics.toString().startsWith("3 searches, 400 swaps tried, 15.0% accepted"),
+                "toString incorrect: " + metrics);
+
+        metrics.reset();
+        Assertions.assertEquals(0, metrics.getSearches(), "Searches after reset incorrect");
+        Assertions.assertEquals(0, metrics.getSwapsTried(), "Swaps tried after reset incorrect");
+        Assertions.assertEquals(0, metrics.getSwapsAccepted(), "Swaps accepted after reset incorrect");
+        Assertions.assertEquals(0, metrics.getEvaluations(), "Evaluations after reset incorrect");
+        Assertions.assertEquals(0, metrics.getSearchNanosPercentile(1.0), "Max search time after reset incorrect");
+    }
+
+    @Order(2)
+    @Tag("B")
+    @DisplayName("Test that search time percentiles bound the times reported within a factor of two")
+    @ParameterizedTest(name = "seed = {0}")
+    @ValueSource(ints = {148, 327, 608})
+    public void testPercentiles(int seed) throws InterruptedException {
+        Random random = new Random(seed);
+        SolverMetrics metrics = new SolverMetrics();
+        List<Long> times = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            SearchStats stats = new SearchStats(i);
+            stats.begin(0);
+            Thread.sleep(random.nextInt(3));
+            stats.end(0);
+            metrics.onSearchFinished(stats);
+            times.add(stats.getElapsedNanos());
+        }
+        times.sort(null);
+        for (double fraction : new double[] {0.0, 0.1, 0.5, 0.9, 0.99, 1.0}) {
+            long actual = times.get(Math.max(0, (int) Math.ceil(fraction * times.size()) - 1));
+            long bound = metrics.getSearchNanosPercentile(fraction);
+            Assertions.assertTrue(bound >= actual, "Percentile " + fraction + " below the search time");
+            Assertions.assertTrue(bound <= 2 * actual + 1, "Percentile " + fraction + " more than twice the search time");
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> metrics.getSearchNanosPercentile(-0.1),
+                "Negative fraction accepted");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> metrics.getSearchNanosPercentile(1.1),
+                "Fraction above 1 accepted");
+    }
+
+    @Order(3)
+    @Tag("B")
+    @DisplayName("Test that searches reported from many threads at once are all counted")
+    @Test
+    public void testConcurrentReports() throws InterruptedException {
+        SolverMetrics metrics = new SolverMetrics();
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            int restart = i;
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    metrics.onSearchFinished(search(restart, 3, 1, 4));
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assertions.assertEquals(8000, metrics.getSearches(), "Searches incorrect");
+        Assertions.assertEquals(24000, metrics.getSwapsTried(), "Swaps tried incorrect");
+        Assertions.assertEquals(8000, metrics.getSwapsAccepted(), "Swaps accepted incorrect");
+        Assertions.assertEquals(32000, metrics.getEvaluations(), "Evaluations incorrect");
+        Assertions.assertTrue(metrics.getSearchNanosPercentile(1.0) > 0, "Max search time incorrect");
+    }
+
+    @Order(4)
+    @Tag("B")
+    @DisplayName("Test that listeners are told about every restart exactly once, until removed")
+    @Test
+    public void testSolverListeners() {
+        String ciphertext = encrypt(PLAINTEXT, randomKey(new Random(610)));
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ParallelSubstitutionSolver solver =
+                    new ParallelSubstitutionSolver(likelihoods, new HillClimbingStrategy(), pool, 610);
+            SolverMetrics metrics = new SolverMetrics();
+            List<SearchStats> finished = new CopyOnWriteArrayList<>();
+            solver.addListener(metrics);
+            solver.addListener(finished::add);
+            solver.addListener(ISolverListener.NONE);
+            solver.solve(ciphertext, 12);
+
+            Assertions.assertEquals(12, finished.size(), "Restarts reported incorrect");
+            Assertions.assertEquals(12, metrics.getSearches(), "Searches incorrect");
+            boolean[] seen = new boolean[12];
+            long tried = 0;
+            for (SearchStats stats : finished) {
+                Assertions.assertFalse(seen[stats.getRestart()], "Restart " + stats.getRestart() + " reported twice");
+                seen[stats.getRestart()] = true;
+                Assertions.assertTrue(stats.getSwapsTried() > 0, "Restart reported before it ran");
+                Assertions.assertFalse(Double.isNaN(stats.getFinalScore()), "Restart reported before it finished");
+                tried += stats.getSwapsTried();
+            }
+            Assertions.assertEquals(tried, metrics.getSwapsTried(), "Swaps tried incorrect");
+
+            solver.removeListener(metrics);
+            solver.solve(ciphertext, 4);
+            Assertions.assertEquals(12, metrics.getSearches(), "Removed listener was told about restarts");
+            Assertions.assertEquals(16, finished.size(), "Restarts reported after a removal incorrect");
+        }
+        finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package edu.caltech.cs2.project01;
+
+import edu.caltech.cs2.project01.interfaces.ISearchStrategy;
+import edu.caltech.cs2.project01.strategies.HillClimbingStrategy;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static edu.caltech.cs2.helpers.SubstitutionKeys.encrypt;
+import static edu.caltech.cs2.helpers.SubstitutionKeys.randomKey;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class SubstitutionCipherBatchSolverTests {
+    private static final String[] PLAINTEXTS = {
+            "THE QUICK BROWN FOX JUMPS OVER THE LAZY DOG",
+            "WE THE PEOPLE OF THE UNITED STATES IN ORDER TO FORM A MORE PERFECT UNION",
+            "IT WAS THE BEST OF TIMES IT WAS THE WORST OF TIMES",
+            "CALL ME ISHMAEL SOME YEARS AGO NEVER MIND HOW LONG PRECISELY"
+    };
+
+    private static QuadGramLikelihoods likelihoods;
+
+    @BeforeAll
+    public static void loadLikelihoods() throws IOException {
+        likelihoods = new QuadGramLikelihoods();
+    }
+
+    private static String solve(SubstitutionCipherBatchSolver solver, List<String> lines) throws IOException {
+        StringWriter out = new StringWriter();
+        solver.solve(new BufferedReader(new StringReader(String.join("\n", lines))), out);
+        return out.toString();
+    }
+
+    private static List<String> outputLines(String output) {
+        return output.lines().collect(Collectors.toList());
+    }
+
+    @Order(0)
+    @Tag("B")
+    @DisplayName("Test that plain texts are written in input order whatever order lines finish in")
+    @Test
+    public void testOrder() throws IOException {
+        // Lines without letters render to themselves under any key, and
+        // searches of random lengths make them finish out of order.
+        ISearchStrategy sleep = (scorer, key, random, stop, stats) -> {
+            try {
+                Thread.sleep(random.nextInt(5));
+            }
+            catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return scorer.score(key);
+        };
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            lines.add(i + ", " + (i * i));
+        }
+        SubstitutionCipherBatchSolver solver = new SubstitutionCipherBatchSolver(likelihoods, sleep, 4, 1, 148);
+        Assertions.assertEquals(lines, outputLines(solve(solver, lines)), "Lines out of order");
+        Assertions.assertTrue(solver.getReport().startsWith("lines: 100,"), "Report incorrect: " + solver.getReport());
+    }
+
+    @Order(1)
+    @Tag("B")
+    @DisplayName("Test that a batch without a cache gives the same plain texts for the same seed")
+    @ParameterizedTest(name = "seed = {0}")
+    @ValueSource(ints = {327, 608})
+    public void testDeterminism(int seed) throws IOException {
+        Random random = new Random(seed);
+        List<String> lines = new ArrayList<>();
+        for (String plaintext : PLAINTEXTS) {
+            lines.add(encrypt(plaintext, randomKey(random)));
+        }
+        String first = solve(new SubstitutionCipherBatchSolver(likelihoods, new HillClimbingStrategy(), 1, 3, seed),
+                lines);
+        String second = solve(new SubstitutionCipherBatchSolver(likelihoods, new HillClimbingStrategy(), 4, 3, seed),
+                lines);
+        Assertions.assertEquals(first, second, "Plain texts differ between runs with the same seed");
+        Assertions.assertEquals(lines.size(), outputLines(first).size(), "Number of lines incorrect");
+    }
+
+    @Order(2)
+    @Tag("B")
+    @DisplayName("Test that re-keyed lines are answered from the cache instead of searched")
+    @Test
+    public void testCache() throws IOException {
+        Random random = new Random(610);
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            for (String plaintext : PLAINTEXTS) {
+                lines.add(encrypt(plaintext, randomKey(random)));
+            }
+        }
+        int restarts = 3;
+        SubstitutionCipherBatchSolver solver =
+                new SubstitutionCipherBatchSolver(likelihoods, new HillClimbingStrategy(), 4, restarts, 610);
+        SolutionCache cache = new SolutionCache();
+        solver.setCache(cache);
+        AtomicInteger searches = new AtomicInteger();
+        solver.addListener(stats -> searches.incrementAndGet());
+
+        List<String> output = outputLines(solve(solver, lines));
+        Assertions.assertEquals(lines.size(), output.size(), "Number of lines incorrect");
+        Assertions.assertEquals(PLAINTEXTS.length * restarts, searches.get(), "Re-keyed lines searched again");
+        Assertions.assertEquals(PLAINTEXTS.length, cache.getMisses(), "Misses incorrect");
+        Assertions.assertEquals(lines.size() - PLAINTEXTS.length, cache.getHits(), "Hits incorrect");
+        for (int i = PLAINTEXTS.length; i < output.size(); i++) {
+            Assertions.assertEquals(output.get(i % PLAINTEXTS.length), output.get(i),
+                    "Re-keyed line " + i + " deciphered differently");
+        }
+    }
+
+    @Order(3)
+    @Tag("B")
+    @DisplayName("Test getReport before any batch and after an empty batch")
+    @Test
+    public void testEmptyReport() throws IOException {
+        SubstitutionCipherBatchSolver solver =
+                new SubstitutionCipherBatchSolver(likelihoods, new HillClimbingStrategy(), 2, 1, 911);
+        String expected = "lines: 0, time: 0.000 s, lines/sec: 0.00, latency ms p50: 0.00 p90: 0.00 p99: 0.00 max: 0.00";
+        Assertions.assertEquals(expected, solver.getReport(), "Report before solve incorrect");
+
+        Assertions.assertEquals("", solve(solver, List.of()), "Empty batch wrote output");
+        String report = solver.getReport();
+        Assertions.assertTrue(report.startsWith("lines: 0, "), "Report after an empty batch incorrect: " + report);
+        Assertions.assertTrue(report.contains("lines/sec: 0.00,"), "Rate after an empty batch incorrect: " + report);
+        Assertions.assertFalse(report.contains("NaN") || report.contains("Infinity"),
+                "Report after an empty batch incorrect: " + report);
+    }
+}
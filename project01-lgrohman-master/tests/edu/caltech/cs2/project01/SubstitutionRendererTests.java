@@ -0,0 +1,109 @@
+package edu.caltech.cs2.project01;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static edu.caltech.cs2.helpers.SubstitutionKeys.decrypt;
+import static edu.caltech.cs2.helpers.SubstitutionKeys.randomKey;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class SubstitutionRendererTests {
+    @Order(0)
+    @Tag("B")
+    @DisplayName("Test rendering with an int[] key against deciphering letter by letter")
+    @ParameterizedTest(name = "seed = {0}")
+    @ValueSource(ints = {148, 327, 608, 610, 911})
+    public void testIntKey(int seed) throws IOException {
+        String ciphertext = Files.readString(Paths.get("cryptogram.txt"));
+        int[] key = randomKey(new Random(seed));
+        SubstitutionRenderer renderer = new SubstitutionRenderer(key);
+        Assertions.assertEquals(decrypt(ciphertext, key), renderer.render(ciphertext), "Plain text incorrect");
+        Assertions.assertEquals(decrypt(ciphertext, key).toLowerCase(), renderer.render(ciphertext.toLowerCase()),
+                "Lower-case plain text incorrect");
+        Assertions.assertEquals("1, 2\n\u00C9\u00E9\u2603", renderer.render("1, 2\n\u00C9\u00E9\u2603"),
+                "Other characters changed");
+    }
+
+    @Order(1)
+    @Tag("B")
+    @DisplayName("Test rendering with a map key")
+    @Test
+    public void testMapKey() {
+        Map<Character, Character> key = new HashMap<>();
+        key.put('H', 'S');
+        key.put('E', 'A');
+        key.put('L', 'F');
+        key.put('P', '!');
+        key.put('\u00E9', 'X');
+        SubstitutionRenderer renderer = new SubstitutionRenderer(key);
+        Assertions.assertEquals("SAF! me \u00E9", renderer.render("HELP me \u00E9"), "Plain text incorrect");
+        Assertions.assertEquals("", renderer.render(""), "Empty plain text incorrect");
+    }
+
+    @Order(2)
+    @Tag("B")
+    @DisplayName("Test rendering part of a char[], in place and into another array")
+    @Test
+    public void testCharArray() {
+        SubstitutionRenderer renderer = new SubstitutionRenderer(randomKey(new Random(148)));
+        char[] text = "THE QUICK BROWN FOX".toCharArray();
+        String expected = renderer.render("QUICK");
+
+        char[] dst = "..........".toCharArray();
+        renderer.render(text, 4, 5, dst, 3);
+        Assertions.assertEquals("..." + expected + "..", new String(dst), "Copied plain text incorrect");
+
+        renderer.render(text, 4, 5, text, 4);
+        Assertions.assertEquals("THE " + expected + " BROWN FOX", new String(text), "In-place plain text incorrect");
+    }
+
+    @Order(3)
+    @Tag("B")
+    @DisplayName("Test streaming a Reader to a Writer in chunks")
+    @ParameterizedTest(name = "buffer = {0}")
+    @ValueSource(ints = {1, 7, 4096, SubstitutionRenderer.DEFAULT_BUFFER_CHARS})
+    public void testStream(int bufferSize) throws IOException {
+        String ciphertext = Files.readString(Paths.get("cryptogram.txt"));
+        SubstitutionRenderer renderer = new SubstitutionRenderer(randomKey(new Random(bufferSize)));
+        StringWriter out = new StringWriter();
+        long n = renderer.render(new StringReader(ciphertext), out, new char[bufferSize]);
+        Assertions.assertEquals(ciphertext.length(), n, "Characters mapped incorrect");
+        Assertions.assertEquals(renderer.render(ciphertext), out.toString(), "Streamed plain text incorrect");
+    }
+
+    @Order(4)
+    @Tag("B")
+    @DisplayName("Test that bad keys and buffers are rejected")
+    @Test
+    public void testRejects() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new SubstitutionRenderer(new int[25]),
+                "Short key accepted");
+        SubstitutionRenderer renderer = new SubstitutionRenderer(SubstitutionScorer.identityKey());
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> renderer.render(new StringReader("ABC"), new StringWriter(), new char[0]),
+                "Empty buffer accepted");
+    }
+
+    @Order(5)
+    @Tag("B")
+    @DisplayName("Test that a SubstitutionCipher is not changed by changing its key map")
+    @Test
+    public void testCipherCopiesKey() {
+        Map<Character, Character> key = new HashMap<>(SubstitutionScorer.toMap(SubstitutionScorer.identityKey()));
+        SubstitutionCipher cipher = new SubstitutionCipher("HELP", key);
+        key.put('H', 'S');
+        Assertions.assertEquals("HELP", cipher.getPlainText(), "Plain text changed before the first render");
+        key.put('E', 'A');
+        Assertions.assertEquals("HELP", cipher.getPlainText(), "Plain text changed after the first render");
+    }
+}
@@ -0,0 +1,192 @@
+package edu.caltech.cs2.project01;
+
+import edu.caltech.cs2.project01.interfaces.ILanguageModel;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+import static edu.caltech.cs2.helpers.SubstitutionKeys.assertPermutation;
+import static edu.caltech.cs2.helpers.SubstitutionKeys.randomKey;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class SubstitutionScorerTests {
+    private static QuadGramLikelihoods likelihoods;
+
+    @BeforeAll
+    public static void loadLikelihoods() throws IOException {
+        likelihoods = new QuadGramLikelihoods();
+    }
+
+    @Order(0)
+    @Tag("B")
+    @DisplayName("Test swapDelta against rescoring every swap of a random key")
+    @ParameterizedTest(name = "seed = {0}")
+    @ValueSource(ints = {148, 327, 608, 610, 911})
+    public void testSwapDelta(int seed) throws IOException {
+        String ciphertext = Files.readString(Paths.get("cryptogram.txt"));
+        SubstitutionScorer scorer = new SubstitutionScorer(ciphertext, likelihoods);
+        int[] key = randomKey(new Random(seed));
+        double score = scorer.score(key);
+        for (int a = 0; a < key.length; a++) {
+            for (int b = a + 1; b < key.length; b++) {
+                int[] swapped = key.clone();
+                SubstitutionScorer.swap(swapped, a, b);
+                Assertions.assertEquals(scorer.score(swapped) - score, scorer.swapDelta(key, a, b), 1e-6,
+                        "swapDelta of " + (char) ('A' + a) + " and " + (char) ('A' + b) + " incorrect");
+            }
+        }
+    }
+
+    @Order(1)
+    @Tag("B")
+    @DisplayName("Test swapDelta on short and repetitive cipher texts")
+    @ParameterizedTest(name = "ciphertext = {0}")
+    @ValueSource(strings = {"", "A", "ABC", "HELP", "AAAAAAAAAAAAAAAAA", "ABABAB", "ABBA ABBA", "THE QUICK, BROWN FOX!"})
+    public void testSwapDeltaShort(String ciphertext) {
+        SubstitutionScorer scorer = new SubstitutionScorer(ciphertext, likelihoods);
+        int[] key = randomKey(new Random(ciphertext.hashCode()));
+        double score = scorer.score(key);
+        for (int a = 0; a < key.length; a++) {
+            for (int b = a + 1; b < key.length; b++) {
+                int[] swapped = key.clone();
+                SubstitutionScorer.swap(swapped, a, b);
+                Assertions.assertEquals(scorer.score(swapped) - score, scorer.swapDelta(key, a, b), 1e-9,
+                        "swapDelta of " + (char) ('A' + a) + " and " + (char) ('A' + b) + " incorrect");
+            }
+        }
+    }
+
+    @Order(2)
+    @Tag("B")
+    @DisplayName("Test that summed swapDeltas track the score along a random walk")
+    @ParameterizedTest(name = "seed = {0}")
+    @ValueSource(ints = {148, 327, 608, 610, 911})
+    public void testSwapDeltaWalk(int seed) throws IOException {
+        String ciphertext = Files.readString(Paths.get("cryptogram.txt"));
+        SubstitutionScorer scorer = new SubstitutionScorer(ciphertext, likelihoods);
+        Random random = new Random(seed);
+        int[] key = randomKey(random);
+        double score = scorer.score(key);
+        for (int step = 0; step < 1000; step++) {
+            int a = random.nextInt(key.length);
+            int b = random.nextInt(key.length);
+            score += scorer.swapDelta(key, a, b);
+            SubstitutionScorer.swap(key, a, b);
+        }
+        Assertions.assertEquals(scorer.score(key), score, 1e-6, "Score after 1000 swaps incorrect");
+    }
+
+    @Order(3)
+    @Tag("B")
+    @DisplayName("Test score against getScore")
+    @ParameterizedTest(name = "seed = {0}")
+    @ValueSource(ints = {148, 327, 608, 610, 911})
+    public void testScore(int seed) throws IOException {
+        String ciphertext = Files.readString(Paths.get("cryptogram.txt"));
+        int[] key = randomKey(new Random(seed));
+        SubstitutionCipher cipher = new SubstitutionCipher(ciphertext, SubstitutionScorer.toMap(key));
+        Assertions.assertEquals(cipher.getScore(likelihoods), new SubstitutionScorer(ciphertext, likelihoods).score(key),
+                1e-6, "Score does not match getScore");
+    }
+
+    @Order(4)
+    @Tag("B")
+    @DisplayName("Test ScoredKey against rescoring along a random walk")
+    @ParameterizedTest(name = "seed = {0}")
+    @ValueSource(ints = {148, 327, 608, 610, 911})
+    public void testScoredKey(int seed) throws IOException {
+        String ciphertext = Files.readString(Paths.get("cryptogram.txt"));
+        SubstitutionScorer scorer = new SubstitutionScorer(ciphertext, likelihoods);
+        Random random = new Random(seed);
+        int[] key = randomKey(random);
+        ScoredKey scored = scorer.track(key);
+        Assertions.assertSame(key, scored.getKey(), "Tracked key is not the key given");
+        Assertions.assertEquals(scorer.score(key), scored.getScore(), 1e-9, "Initial score incorrect");
+        for (int step = 0; step < 2000; step++) {
+            int a = random.nextInt(key.length);
+            int b = random.nextInt(key.length);
+            int[] swapped = key.clone();
+            SubstitutionScorer.swap(swapped, a, b);
+            double expected = scorer.score(swapped) - scorer.score(key);
+            Assertions.assertEquals(expected, scored.swapDelta(a, b), 1e-6, "swapDelta at step " + step + " incorrect");
+            if (random.nextBoolean()) {
+                Assertions.assertEquals(expected, scored.swap(a, b), 1e-6, "swap at step " + step + " incorrect");
+                Assertions.assertArrayEquals(swapped, key, "Key after swap at step " + step + " incorrect");
+            }
+        }
+        Assertions.assertEquals(scorer.score(key), scored.getScore(), 1e-6, "Score after 2000 steps incorrect");
+    }
+
+    @Order(5)
+    @Tag("B")
+    @DisplayName("Test that swaps only look up the n-grams they change")
+    @Test
+    public void testSwapLookups() throws IOException {
+        String ciphertext = Files.readString(Paths.get("cryptogram.txt"));
+        String letters = ciphertext.replaceAll("[^A-Z]", "");
+        CountingModel model = new CountingModel();
+        SubstitutionScorer scorer = new SubstitutionScorer(ciphertext, model);
+        ScoredKey scored = scorer.track(randomKey(new Random(148)));
+        int[] key = scored.getKey();
+        Assertions.assertEquals(letters.length() - 3, model.lookups, "Lookups of track incorrect");
+
+        for (int a = 0; a < key.length; a++) {
+            for (int b = a + 1; b < key.length; b++) {
+                int windows = 0;
+                for (int s = 0; s + 4 <= letters.length(); s++) {
+                    String window = letters.substring(s, s + 4);
+                    if (window.indexOf('A' + a) >= 0 || window.indexOf('A' + b) >= 0) {
+                        windows++;
+                    }
+                }
+                String pair = (char) ('A' + a) + " and " + (char) ('A' + b);
+                model.lookups = 0;
+                scored.swapDelta(a, b);
+                Assertions.assertEquals(windows, model.lookups, "ScoredKey lookups for " + pair + " incorrect");
+                model.lookups = 0;
+                scorer.swapDelta(key, a, b);
+                Assertions.assertEquals(2 * windows, model.lookups, "Scorer lookups for " + pair + " incorrect");
+            }
+        }
+    }
+
+    @Order(6)
+    @Tag("B")
+    @DisplayName("Test that randomKey draws a permutation determined by the generator")
+    @ParameterizedTest(name = "seed = {0}")
+    @ValueSource(ints = {148, 327, 608, 610, 911})
+    public void testRandomKey(int seed) {
+        int[] key = SubstitutionScorer.randomKey(new Random(seed));
+        assertPermutation(key);
+        Assertions.assertArrayEquals(randomKey(new Random(seed)), key, "Key incorrect");
+        Assertions.assertArrayEquals(SubstitutionScorer.randomKey(new SplittableRandom(seed)),
+                SubstitutionScorer.randomKey(new SplittableRandom(seed)), "Keys from the same seed differ");
+    }
+
+    // Counts the n-grams looked up in the quad-gram model.
+    private static class CountingModel implements ILanguageModel {
+        private long lookups;
+
+        @Override
+        public int getOrder() {
+            return likelihoods.getOrder();
+        }
+
+        @Override
+        public double get(int packed) {
+            this.lookups++;
+            return likelihoods.get(packed);
+        }
+
+        @Override
+        public double getNotFoundLikelihood() {
+            return likelihoods.getNotFoundLikelihood();
+        }
+    }
+}
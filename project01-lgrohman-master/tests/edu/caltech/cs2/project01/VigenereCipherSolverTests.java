@@ -0,0 +1,115 @@
+package edu.caltech.cs2.project01;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Random;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class VigenereCipherSolverTests {
+    private static QuadGramLikelihoods likelihoods;
+    private static String plaintext;
+
+    @BeforeAll
+    public static void loadText() throws IOException {
+        likelihoods = new QuadGramLikelihoods();
+        plaintext = Files.readString(Paths.get("plaintext.txt")).strip();
+    }
+
+    private static int[] letters(String text) {
+        return text.chars().map(c -> c - 'A').toArray();
+    }
+
+    @Order(0)
+    @Tag("B")
+    @DisplayName("Test encrypt and decrypt")
+    @ParameterizedTest(name = "{0} with {1}")
+    @CsvSource({"ATTACKATDAWN, LEMON, LXFOPVEFRNHR", "'ATTACK AT DAWN!', LEMON, 'LXFOPV EF RNHR!'",
+            "HELLO, A, HELLO", "'', KEY, ''", "'abc XYZ', B, 'abc YZA'"})
+    public void testEncryptDecrypt(String text, String key, String ciphertext) {
+        Assertions.assertEquals(ciphertext, VigenereCipherSolver.encrypt(text, key), "Encryption incorrect");
+        Assertions.assertEquals(text, VigenereCipherSolver.decrypt(ciphertext, key), "Decryption incorrect");
+    }
+
+    @Order(1)
+    @Tag("B")
+    @DisplayName("Test averageIndexOfCoincidence of English and of Vigenere columns")
+    @Test
+    public void testIndexOfCoincidence() {
+        Assertions.assertEquals(1.0, VigenereCipherSolver.averageIndexOfCoincidence(letters("AAAAAAAA"), 2),
+                "Index of coincidence of one repeated letter incorrect");
+        Assertions.assertEquals(0.0, VigenereCipherSolver.averageIndexOfCoincidence(letters("ABCDEF"), 1),
+                "Index of coincidence of distinct letters incorrect");
+
+        int[] english = letters(plaintext);
+        Assertions.assertEquals(VigenereCipherSolver.ENGLISH_IOC,
+                VigenereCipherSolver.averageIndexOfCoincidence(english, 1), 0.01, "English index of coincidence incorrect");
+
+        int[] encrypted = letters(VigenereCipherSolver.encrypt(plaintext, "CIPHERS"));
+        for (int length = 1; length <= 21; length++) {
+            double ioc = VigenereCipherSolver.averageIndexOfCoincidence(encrypted, length);
+            if (length % 7 == 0) {
+                Assertions.assertEquals(VigenereCipherSolver.ENGLISH_IOC, ioc, 0.01,
+                        "Index of coincidence of a multiple of the key length incorrect");
+            }
+            else {
+                Assertions.assertTrue(ioc < 0.05, "Index of coincidence of length " + length + " too high: " + ioc);
+            }
+        }
+    }
+
+    @Order(2)
+    @Tag("B")
+    @DisplayName("Test that solve recovers the key")
+    @ParameterizedTest(name = "key = {0}")
+    @ValueSource(strings = {"K", "LEMON", "CIPHERS", "VIGENERE", "ABRACADABRA", "THEQUICKBROWNFOXJUM"})
+    public void testSolve(String key) {
+        VigenereCipherSolver solver = new VigenereCipherSolver(likelihoods);
+        String ciphertext = VigenereCipherSolver.encrypt(plaintext, key);
+        String solved = solver.solve(ciphertext);
+        Assertions.assertEquals(key, solved, "Key incorrect");
+        Assertions.assertEquals(plaintext, VigenereCipherSolver.decrypt(ciphertext, solved), "Plain text incorrect");
+    }
+
+    @Order(3)
+    @Tag("B")
+    @DisplayName("Test that solve ignores everything but upper-case letters")
+    @ParameterizedTest(name = "seed = {0}")
+    @ValueSource(ints = {148, 327, 608})
+    public void testSolveWithSpaces(int seed) {
+        Random random = new Random(seed);
+        char[] key = new char[3 + random.nextInt(8)];
+        for (int i = 0; i < key.length; i++) {
+            key[i] = (char) ('A' + random.nextInt(QuadGramLikelihoods.ALPHABET_SIZE));
+        }
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < plaintext.length(); i++) {
+            text.append(plaintext.charAt(i));
+            if (random.nextInt(5) == 0) {
+                text.append(random.nextBoolean() ? ", " : " ");
+            }
+        }
+        String ciphertext = VigenereCipherSolver.encrypt(text.toString(), new String(key));
+        String solved = new VigenereCipherSolver(likelihoods).solve(ciphertext);
+        Assertions.assertEquals(text.toString(), VigenereCipherSolver.decrypt(ciphertext, solved),
+                "Plain text incorrect with key " + solved);
+    }
+
+    @Order(4)
+    @Tag("B")
+    @DisplayName("Test solve with no letters and bad arguments")
+    @Test
+    public void testEdges() {
+        Assertions.assertEquals("A", new VigenereCipherSolver(likelihoods).solve("123, 456!"),
+                "Key of text without letters incorrect");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new VigenereCipherSolver(likelihoods, 0, 4),
+                "Max key length 0 accepted");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new VigenereCipherSolver(likelihoods, 20, 0),
+                "No key length candidates accepted");
+    }
+}
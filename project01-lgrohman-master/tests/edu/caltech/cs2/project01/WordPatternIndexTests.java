@@ -0,0 +1,94 @@
+package edu.caltech.cs2.project01;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static edu.caltech.cs2.helpers.SubstitutionKeys.assertPermutation;
+import static edu.caltech.cs2.helpers.SubstitutionKeys.decrypt;
+import static edu.caltech.cs2.helpers.SubstitutionKeys.encrypt;
+import static edu.caltech.cs2.helpers.SubstitutionKeys.randomKey;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class WordPatternIndexTests {
+    private static final String PLAINTEXT = "THE QUICK BROWN FOX JUMPS OVER THE LAZY DOG";
+    private static final List<String> DICTIONARY = List.of("THE", "QUICK", "BROWN", "FOX", "JUMPS", "OVER", "LAZY",
+            "DOG", "CAT", "HAT", "THAT", "BOOK", "SEEN", "TREE", "apple", "DON'T", "THE");
+
+    @Order(0)
+    @Tag("B")
+    @DisplayName("Test candidates")
+    @Test
+    public void testCandidates() {
+        WordPatternIndex index = new WordPatternIndex(DICTIONARY);
+        String[] found = index.candidates("XYZ");
+        Arrays.sort(found);
+        Assertions.assertArrayEquals(new String[]{"CAT", "DOG", "FOX", "HAT", "THE"}, found, "Candidates incorrect");
+        Assertions.assertArrayEquals(new String[]{"THAT"}, index.candidates("ABCA"), "Candidates incorrect");
+        Assertions.assertArrayEquals(new String[]{"TREE"}, index.candidates("ABCC"), "Candidates incorrect");
+        found = index.candidates("ABBC");
+        Arrays.sort(found);
+        Assertions.assertArrayEquals(new String[]{"BOOK", "SEEN"}, found, "Candidates incorrect");
+        Assertions.assertArrayEquals(new String[0], index.candidates("APPLE"), "Lower-case word indexed");
+        Assertions.assertArrayEquals(new String[0], index.candidates("ABCDEFGHIJ"), "Candidates of unknown pattern");
+
+        index.candidates("ABCA")[0] = "ABBA";
+        Assertions.assertArrayEquals(new String[]{"THAT"}, index.candidates("ABCA"), "Candidates not copied");
+    }
+
+    @Order(1)
+    @Tag("B")
+    @DisplayName("Test that the first seed key deciphers a text of dictionary words")
+    @ParameterizedTest(name = "seed = {0}")
+    @ValueSource(ints = {148, 327, 608, 610, 911})
+    public void testSeedKeys(int seed) {
+        WordPatternIndex index = new WordPatternIndex(DICTIONARY);
+        String ciphertext = encrypt(PLAINTEXT, randomKey(new Random(seed)));
+        int[][] keys = index.seedKeys(ciphertext);
+        Assertions.assertTrue(keys.length >= 1 && keys.length <= WordPatternIndex.DEFAULT_SEED_KEYS,
+                "Number of seed keys incorrect");
+        for (int[] key : keys) {
+            assertPermutation(key);
+        }
+        Assertions.assertEquals(PLAINTEXT, decrypt(ciphertext, keys[0]),
+                "First seed key does not decipher the text");
+    }
+
+    @Order(2)
+    @Tag("B")
+    @DisplayName("Test that seed keys agree with the dictionary words they assign")
+    @ParameterizedTest(name = "seed = {0}")
+    @ValueSource(ints = {148, 327, 608, 610, 911})
+    public void testSeedKeysPartial(int seed) {
+        WordPatternIndex index = new WordPatternIndex(DICTIONARY);
+        // "IS" and "BY" have no dictionary word with their pattern, so they are left unassigned.
+        String plaintext = "THAT TREE IS SEEN BY THE CAT";
+        String ciphertext = encrypt(plaintext, randomKey(new Random(seed)));
+        int[][] keys = index.seedKeys(ciphertext, 2, WordPatternIndex.DEFAULT_NODE_BUDGET);
+        Assertions.assertTrue(keys.length >= 1 && keys.length <= 2, "Number of seed keys incorrect");
+        String deciphered = decrypt(ciphertext, keys[0]);
+        String[] words = deciphered.split(" ");
+        String[] expected = plaintext.split(" ");
+        for (int i = 0; i < words.length; i++) {
+            if (!expected[i].equals("IS") && !expected[i].equals("BY")) {
+                Assertions.assertEquals(expected[i], words[i], "Dictionary word deciphered incorrectly");
+            }
+        }
+    }
+
+    @Order(3)
+    @Tag("B")
+    @DisplayName("Test seedKeys of texts with no dictionary patterns and with bad arguments")
+    @Test
+    public void testSeedKeysNone() {
+        WordPatternIndex index = new WordPatternIndex(DICTIONARY);
+        Assertions.assertEquals(0, index.seedKeys("").length, "Seed keys of empty text");
+        Assertions.assertEquals(0, index.seedKeys("ABCDEFGHIJ KLMNOPQRSTU").length, "Seed keys without candidates");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> index.seedKeys("ABC", 0, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> index.seedKeys("ABC", 1, 0));
+    }
+}
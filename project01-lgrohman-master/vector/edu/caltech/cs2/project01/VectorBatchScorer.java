@@ -0,0 +1,81 @@
+package edu.caltech.cs2.project01;
+
+import edu.caltech.cs2.project01.interfaces.IBatchScorer;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Scores a batch of keys with the Vector API, one key per lane. Keys are
+ * transposed so that, for each cipher letter, the plain text letters of
+ * every key in a group sit next to each other; every text position is then
+ * one contiguous load, the packed quad-grams of all lanes are built with
+ * vector arithmetic, and their likelihoods are fetched with one gather.
+ * Each lane adds up its quad-grams in text order, so the scores are exactly
+ * those of SubstitutionScorer.score.
+ *
+ * This needs the jdk.incubator.vector module, so it lives in its own source
+ * folder and is compiled and run with --add-modules jdk.incubator.vector.
+ * Nothing refers to it directly; IBatchScorer.create loads it by name.
+ */
+public class VectorBatchScorer implements IBatchScorer {
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    // Packed quad-grams, with as many lanes as DOUBLES.
+    private static final VectorSpecies<Integer> INTS =
+            VectorSpecies.of(int.class, VectorShape.forBitSize(DOUBLES.length() * Integer.SIZE));
+
+    private final int[] letters;
+    private final double[] table;
+
+    /**
+     * Construct a batch scorer for the given cipher text.
+     * @param ciphertext the cipher text keys will be scored against
+     * @param likelihoods the object used to find a score for a quadgram
+     */
+    public VectorBatchScorer(String ciphertext, QuadGramLikelihoods likelihoods) {
+        this.letters = ciphertext.chars()
+                .map(c -> c - 'A')
+                .filter(letter -> letter >= 0 && letter < QuadGramLikelihoods.ALPHABET_SIZE)
+                .toArray();
+        this.table = likelihoods.sharedArray();
+    }
+
+    @Override
+    public void score(int[][] keys, double[] scores) {
+        int lanes = DOUBLES.length();
+        int[] transposed = new int[QuadGramLikelihoods.ALPHABET_SIZE * lanes];
+        int[] indexes = new int[lanes];
+        double[] sums = new double[lanes];
+
+        for (int base = 0; base < keys.length; base += lanes) {
+            // A short last group repeats its last key in the spare lanes.
+            int n = Math.min(lanes, keys.length - base);
+            for (int c = 0; c < QuadGramLikelihoods.ALPHABET_SIZE; c++) {
+                for (int lane = 0; lane < lanes; lane++) {
+                    transposed[c * lanes + lane] = keys[base + Math.min(lane, n - 1)][c];
+                }
+            }
+
+            DoubleVector sum = DoubleVector.zero(DOUBLES);
+            if (this.letters.length >= 4) {
+                IntVector p1 = IntVector.fromArray(INTS, transposed, this.letters[0] * lanes);
+                IntVector p2 = IntVector.fromArray(INTS, transposed, this.letters[1] * lanes);
+                IntVector p3 = IntVector.fromArray(INTS, transposed, this.letters[2] * lanes);
+                for (int i = 3; i < this.letters.length; i++) {
+                    IntVector p0 = p1;
+                    p1 = p2;
+                    p2 = p3;
+                    p3 = IntVector.fromArray(INTS, transposed, this.letters[i] * lanes);
+                    IntVector packed = p0.mul(QuadGramLikelihoods.ALPHABET_SIZE).add(p1)
+                            .mul(QuadGramLikelihoods.ALPHABET_SIZE).add(p2)
+                            .mul(QuadGramLikelihoods.ALPHABET_SIZE).add(p3);
+                    packed.intoArray(indexes, 0);
+                    sum = sum.add(DoubleVector.fromArray(DOUBLES, this.table, 0, indexes, 0));
+                }
+            }
+            sum.intoArray(sums, 0);
+            System.arraycopy(sums, 0, scores, base, n);
+        }
+    }
+}
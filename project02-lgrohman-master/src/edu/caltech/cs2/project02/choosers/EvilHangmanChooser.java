@@ -1,33 +1,28 @@
 package edu.caltech.cs2.project02.choosers;
 
 import edu.caltech.cs2.project02.interfaces.IHangmanChooser;
+import edu.caltech.cs2.project02.words.FamilyPartitioner;
+import edu.caltech.cs2.project02.words.WordIndex;
+import edu.caltech.cs2.project02.words.WordList;
 
-import java.io.File;
 import java.io.FileNotFoundException;
 import java.util.*;
 
 public class EvilHangmanChooser implements IHangmanChooser {
   private static int guesses;
   private static SortedSet<Character> letters;
-  private static SortedSet<String> secretWords;
+  private static FamilyPartitioner secretWords;
   private static String currentPattern;
   public EvilHangmanChooser(int wordLength, int maxGuesses) throws FileNotFoundException {
     if (wordLength < 1 || maxGuesses < 1){
       throw new IllegalArgumentException();
     }
 
-    secretWords = new TreeSet<String>();
-    Scanner scanner = new Scanner(new File("data/scrabble.txt"));
-    while (scanner.hasNextLine()) {
-      String word = scanner.nextLine();
-      if (wordLength == word.length()) {
-        this.secretWords.add(word);
-      }
-    }
-
-    if (this.secretWords.size() == 0) {
+    WordList words = WordIndex.getDefault().words(wordLength);
+    if (words.size() == 0) {
       throw new IllegalStateException();
     }
+    secretWords = new FamilyPartitioner(words);
 
     this.currentPattern = "";
     for (int i = 0; i < wordLength; i++) {
@@ -53,55 +48,11 @@ public class EvilHangmanChooser implements IHangmanChooser {
       }
     }
 
-    for (int i = 0; i < this.secretWords.size(); i++) {
-
-    }
-
-    int occurances = 0;
     this.letters.add(letter);
 
-    TreeMap<String, SortedSet<String>> tree = new TreeMap<String, SortedSet<String>>();
-
-    for (String word : this.secretWords) {
-      String pattern = "";
-
-      for (int i = 0; i < word.length(); i++) {
-        if (this.letters.contains(word.charAt(i))) {
-          pattern += Character.toString(word.charAt(i));
-        }
-        else {
-          pattern += "-";
-        }
-      }
-
-      SortedSet<String> family = new TreeSet<String>();
-
-      if (tree.containsKey(pattern)) {
-        family = tree.get(pattern);
-        family.add(word);
-        tree.replace(pattern, family);
-      }
-      else {
-        family.add(word);
-        tree.put(pattern, family);
-      }
-    }
-
-    int maxSize = 0;
-
-    for (String pattern : tree.keySet()) {
-      if (maxSize < tree.get(pattern).size()) {
-        maxSize = tree.get(pattern).size();
-        this.secretWords = tree.get(pattern);
-        this.currentPattern = pattern;
-      }
-    }
-
-    for (int i = 0; i < this.currentPattern.length(); i++) {
-      if (this.currentPattern.charAt(i) == letter) {
-        occurances++;
-      }
-    }
+    // Families are masks of where each word holds letter; see FamilyPartitioner.
+    int occurances = this.secretWords.partition(letter);
+    this.currentPattern = this.secretWords.getPattern();
 
     if (occurances == 0) {
       this.guesses--;
@@ -119,7 +70,7 @@ public class EvilHangmanChooser implements IHangmanChooser {
       return false;
     }
     else {
-      String word = this.secretWords.first();
+      String word = this.secretWords.get(0);
 
       for (int i = 0; i < word.length(); i++) {
         if (!letters.contains(word.charAt(i))) {
@@ -147,6 +98,6 @@ public class EvilHangmanChooser implements IHangmanChooser {
   @Override
   public String getWord() {
     this.guesses = 0;
-    return this.secretWords.first();
+    return this.secretWords.get(0);
   }
 }
\ No newline at end of file
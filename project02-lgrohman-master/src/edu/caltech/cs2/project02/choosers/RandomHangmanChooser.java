@@ -1,8 +1,9 @@
 package edu.caltech.cs2.project02.choosers;
 
 import edu.caltech.cs2.project02.interfaces.IHangmanChooser;
+import edu.caltech.cs2.project02.words.WordIndex;
+import edu.caltech.cs2.project02.words.WordList;
 
-import java.io.File;
 import java.io.FileNotFoundException;
 import java.util.*;
 
@@ -18,16 +19,7 @@ public class RandomHangmanChooser implements IHangmanChooser {
       throw new IllegalArgumentException();
     }
 
-    Scanner scanner = new Scanner(new File("data/scrabble.txt"));
-    SortedSet<String> words = new TreeSet<String>();
-
-    while (scanner.hasNextLine()) {
-      String word = scanner.nextLine();
-      if (wordLength == word.length()) {
-        words.add(word);
-      }
-    }
-
+    WordList words = WordIndex.getDefault().words(wordLength);
     if (words.size() == 0) {
       throw new IllegalStateException();
     }
@@ -35,7 +27,7 @@ public class RandomHangmanChooser implements IHangmanChooser {
     int i = rand.nextInt(words.size());
 
     this.guesses = maxGuesses;
-    this.secretWord = new ArrayList<String>(words).get(i);
+    this.secretWord = words.get(i);
     this.letters = new TreeSet<Character>();
       
   }    
@@ -0,0 +1,130 @@
+package edu.caltech.cs2.project02.guessers;
+
+import edu.caltech.cs2.project02.interfaces.IHangmanGuesser;
+import edu.caltech.cs2.project02.words.PositionIndex;
+import edu.caltech.cs2.project02.words.WordIndex;
+import edu.caltech.cs2.project02.words.WordList;
+
+import java.io.FileNotFoundException;
+import java.util.Set;
+
+/**
+ * Guesses exactly like AIHangmanGuesser, but remembers the words that still
+ * match between calls. Each call only removes the words the new pattern and
+ * guesses rule out, compacting the surviving ids to the front of one int
+ * array, so a whole game costs the sum of the shrinking candidate lists
+ * instead of one full dictionary pass per guess.
+ *
+ * A call whose pattern or guesses could not follow from the previous call
+ * (a different length, a letter un-guessed or un-revealed, an earlier guess
+ * revealed only now) starts a new game from every word of the pattern's
+ * length. One guesser plays one game at a time and must not be shared
+ * between threads.
+ */
+public class SessionHangmanGuesser implements IHangmanGuesser {
+  private final String filename;
+  private WordList words;
+  private int[] candidates;
+  private int size;
+  private String pattern;
+  private boolean[] guessed;
+
+  public SessionHangmanGuesser() {
+    this(WordIndex.DEFAULT_FILENAME);
+  }
+
+  public SessionHangmanGuesser(String filename) {
+    this.filename = filename;
+  }
+
+  @Override
+  public char getGuess(String pattern, Set<Character> guesses) throws FileNotFoundException {
+    // Index letters are single bytes, so 256 flags cover every one of them.
+    boolean[] guessed = new boolean[256];
+    for (char c : guesses) {
+      if (c < guessed.length) {
+        guessed[c] = true;
+      }
+    }
+    if (!continues(pattern, guessed)) {
+      // A new game starts from the bitset index rather than every word.
+      this.words = WordIndex.load(this.filename).words(pattern.length());
+      long[] matching = this.words.positions().matching(pattern, guesses);
+      this.candidates = new int[PositionIndex.count(matching)];
+      int id = PositionIndex.nextId(matching, 0);
+      for (int k = 0; k < this.candidates.length; k++) {
+        this.candidates[k] = id;
+        id = PositionIndex.nextId(matching, id + 1);
+      }
+      this.size = this.candidates.length;
+    }
+    this.pattern = pattern;
+    this.guessed = guessed;
+
+    int[] occurences = new int[26];
+    int kept = 0;
+    for (int k = 0; k < this.size; k++) {
+      int id = this.candidates[k];
+      if (matches(id, pattern, guessed)) {
+        this.candidates[kept++] = id;
+        for (int i = 0; i < pattern.length(); i++) {
+          int c = this.words.charAt(id, i) - 'a';
+          if (c >= 0 && c < 26 && !guessed['a' + c]) {
+            occurences[c]++;
+          }
+        }
+      }
+    }
+    this.size = kept;
+
+    int max = 0;
+    char letter = 'a';
+    for (int c = 0; c < 26; c++) {
+      if (occurences[c] > max) {
+        max = occurences[c];
+        letter = (char) ('a' + c);
+      }
+    }
+    return letter;
+  }
+
+  // Returns the number of words that matched the last pattern.
+  public int getCandidateCount() {
+    return this.size;
+  }
+
+  // Whether pattern and guessed can follow the last call in the same game.
+  private boolean continues(String pattern, boolean[] guessed) {
+    if (this.pattern == null || this.pattern.length() != pattern.length()) {
+      return false;
+    }
+    for (int c = 0; c < guessed.length; c++) {
+      if (this.guessed[c] && !guessed[c]) {
+        return false;
+      }
+    }
+    for (int i = 0; i < pattern.length(); i++) {
+      char c = pattern.charAt(i);
+      if (this.pattern.charAt(i) != '-') {
+        if (this.pattern.charAt(i) != c) {
+          return false;
+        }
+      }
+      // A letter can only be revealed by the guess that first names it.
+      else if (c != '-' && c < this.guessed.length && this.guessed[c]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean matches(int id, String pattern, boolean[] guessed) {
+    for (int i = 0; i < pattern.length(); i++) {
+      char c = this.words.charAt(id, i);
+      if (pattern.charAt(i) == '-' ? guessed[c] : pattern.charAt(i) != c) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,292 @@
+package edu.caltech.cs2.project02.words;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The words an evil hangman chooser could still have picked, as ids into a
+ * WordList, the pattern they all share, and the partitioning that keeps the
+ * largest family after each guess. A word's family for a guess is the long
+ * mask of the positions that hold the guessed letter, position 0 being the
+ * most significant bit. Words that agree on every earlier guess have the
+ * same pattern apart from the new letter, and '-' sorts before any letter,
+ * so comparing masks as longs orders families exactly as comparing their
+ * pattern Strings would.
+ *
+ * Each guess is one pass over the surviving ids that stores every mask and
+ * counts families in an open-addressed long table, then one pass that keeps
+ * the winners in place. Ids stay in increasing order, so the first
+ * surviving id is always the alphabetically first word. Words longer than
+ * MAX_MASK_LENGTH do not fit in a mask; their families are pattern Strings
+ * counted in a TreeMap instead, on the calling thread.
+ *
+ * When at least parallelThreshold words are in play, the counting pass is
+ * split into chunks on a ForkJoinPool and the chunks' tables are merged.
+ * The winner depends only on the merged counts, never on the order they
+ * were counted in, so both paths keep the same family.
+ */
+public class FamilyPartitioner {
+  // Masks are longs with one bit per letter, and never negative.
+  public static final int MAX_MASK_LENGTH = 63;
+  // Smaller partitions are counted on the calling thread; forking costs
+  // more than it saves for a scrabble-sized list.
+  public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 16;
+
+  private static final long EMPTY = -1;
+  // The most words one fork/join task counts without splitting.
+  private static final int CHUNK = 1 << 13;
+
+  private final WordList words;
+  private final int parallelThreshold;
+  private final ForkJoinPool pool;
+  private final int[] ids;
+  private final long[] masks;
+  private int size;
+  private String pattern;
+
+  /**
+   * Construct a partitioner that starts from every word in words.
+   * @param words the words of the length being played
+   */
+  public FamilyPartitioner(WordList words) {
+    this(words, DEFAULT_PARALLEL_THRESHOLD, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Construct a partitioner that starts from every word in words.
+   * @param words the words of the length being played
+   * @param parallelThreshold the fewest words in play that are partitioned in parallel
+   * @param pool the pool parallel partitions run on
+   */
+  public FamilyPartitioner(WordList words, int parallelThreshold, ForkJoinPool pool) {
+    this.words = words;
+    this.parallelThreshold = parallelThreshold;
+    this.pool = pool;
+    this.ids = new int[words.size()];
+    for (int id = 0; id < this.ids.length; id++) {
+      this.ids[id] = id;
+    }
+    this.masks = words.length() <= MAX_MASK_LENGTH ? new long[words.size()] : null;
+    this.size = this.ids.length;
+    char[] pattern = new char[words.length()];
+    Arrays.fill(pattern, '-');
+    this.pattern = new String(pattern);
+  }
+
+  // The number of words still in play.
+  public int size() {
+    return this.size;
+  }
+
+  // Returns the k-th word still in play, in alphabetical order.
+  public String get(int k) {
+    if (k < 0 || k >= this.size) {
+      throw new IndexOutOfBoundsException();
+    }
+    return this.words.get(this.ids[k]);
+  }
+
+  // The pattern every word still in play matches.
+  public String getPattern() {
+    return this.pattern;
+  }
+
+  /**
+   * Splits the words still in play into families by where they hold letter
+   * and keeps only the largest family; of equally large families, the one
+   * with the smallest mask is kept. The pattern then shows letter wherever
+   * the kept family holds it.
+   * @param letter the letter just guessed
+   * @return the number of positions of the kept family that hold letter
+   */
+  public int partition(char letter) {
+    if (this.masks == null) {
+      return partitionPatterns(letter);
+    }
+
+    Families families;
+    if (this.size >= this.parallelThreshold) {
+      families = this.pool.invoke(new CountTask(this, letter, 0, this.size));
+    }
+    else {
+      families = count(letter, 0, this.size);
+    }
+
+    long best = EMPTY;
+    int bestCount = 0;
+    for (int i = 0; i < families.keys.length; i++) {
+      long mask = families.keys[i];
+      int count = families.counts[i];
+      if (mask != EMPTY && (count > bestCount || (count == bestCount && mask < best))) {
+        best = mask;
+        bestCount = count;
+      }
+    }
+
+    int kept = 0;
+    for (int k = 0; k < this.size; k++) {
+      if (this.masks[k] == best) {
+        this.ids[kept++] = this.ids[k];
+      }
+    }
+    this.size = kept;
+
+    char[] revealed = this.pattern.toCharArray();
+    for (int p = 0; p < revealed.length; p++) {
+      if ((best & (1L << (revealed.length - 1 - p))) != 0) {
+        revealed[p] = letter;
+      }
+    }
+    this.pattern = new String(revealed);
+    return Long.bitCount(best);
+  }
+
+  // partition for words too long for a mask: families are the Strings of
+  // letter and '-' that a mask would spell, which sort the same way.
+  private int partitionPatterns(char letter) {
+    int length = this.words.length();
+    String[] families = new String[this.size];
+    Map<String, Integer> counts = new TreeMap<String, Integer>();
+    char[] family = new char[length];
+    for (int k = 0; k < this.size; k++) {
+      for (int p = 0; p < length; p++) {
+        family[p] = this.words.charAt(this.ids[k], p) == letter ? letter : '-';
+      }
+      families[k] = new String(family);
+      Integer count = counts.get(families[k]);
+      counts.put(families[k], count == null ? 1 : count + 1);
+    }
+
+    String best = null;
+    int bestCount = 0;
+    for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+      if (entry.getValue() > bestCount) {
+        best = entry.getKey();
+        bestCount = entry.getValue();
+      }
+    }
+
+    int kept = 0;
+    for (int k = 0; k < this.size; k++) {
+      if (families[k].equals(best)) {
+        this.ids[kept++] = this.ids[k];
+      }
+    }
+    this.size = kept;
+
+    char[] revealed = this.pattern.toCharArray();
+    int occurrences = 0;
+    for (int p = 0; p < length; p++) {
+      if (best.charAt(p) == letter) {
+        revealed[p] = letter;
+        occurrences++;
+      }
+    }
+    this.pattern = new String(revealed);
+    return occurrences;
+  }
+
+  // Stores the masks of the words in play from k = from to to and counts their families.
+  private Families count(char letter, int from, int to) {
+    int length = this.words.length();
+    byte[] letters = this.words.letters;
+    Families families = new Families();
+    for (int k = from; k < to; k++) {
+      int offset = this.ids[k] * length;
+      long mask = 0;
+      for (int p = 0; p < length; p++) {
+        mask = (mask << 1) | ((letters[offset + p] & 0xff) == letter ? 1 : 0);
+      }
+      this.masks[k] = mask;
+      families.add(mask, 1);
+    }
+    return families;
+  }
+
+  // Family sizes by mask, in an open-addressed table kept at most half full.
+  private static class Families {
+    private long[] keys = newKeys(16);
+    private int[] counts = new int[16];
+    private int size;
+
+    private static long[] newKeys(int capacity) {
+      long[] keys = new long[capacity];
+      Arrays.fill(keys, EMPTY);
+      return keys;
+    }
+
+    private void add(long mask, int count) {
+      int i = (int) ((mask * 0x9E3779B97F4A7C15L) >>> (64 - Integer.numberOfTrailingZeros(this.keys.length)));
+      while (this.keys[i] != mask && this.keys[i] != EMPTY) {
+        i = (i + 1) & (this.keys.length - 1);
+      }
+      if (this.keys[i] == EMPTY) {
+        this.keys[i] = mask;
+        this.size++;
+      }
+      this.counts[i] += count;
+      if (this.size * 2 > this.keys.length) {
+        grow();
+      }
+    }
+
+    private void addAll(Families other) {
+      for (int i = 0; i < other.keys.length; i++) {
+        if (other.keys[i] != EMPTY) {
+          add(other.keys[i], other.counts[i]);
+        }
+      }
+    }
+
+    private void grow() {
+      long[] keys = this.keys;
+      int[] counts = this.counts;
+      this.keys = newKeys(keys.length * 2);
+      this.counts = new int[keys.length * 2];
+      this.size = 0;
+      for (int i = 0; i < keys.length; i++) {
+        if (keys[i] != EMPTY) {
+          add(keys[i], counts[i]);
+        }
+      }
+    }
+  }
+
+  // Counts the families of a range of the words in play, splitting it in half until it is one chunk.
+  // Tasks are never serialized.
+  @SuppressWarnings("serial")
+  private static class CountTask extends RecursiveTask<Families> {
+    private final FamilyPartitioner partitioner;
+    private final char letter;
+    private final int from;
+    private final int to;
+
+    private CountTask(FamilyPartitioner partitioner, char letter, int from, int to) {
+      this.partitioner = partitioner;
+      this.letter = letter;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected Families compute() {
+      if (this.to - this.from <= CHUNK) {
+        return this.partitioner.count(this.letter, this.from, this.to);
+      }
+      int middle = (this.from + this.to) >>> 1;
+      CountTask left = new CountTask(this.partitioner, this.letter, this.from, middle);
+      left.fork();
+      Families right = new CountTask(this.partitioner, this.letter, middle, this.to).compute();
+      Families families = left.join();
+      if (families.size < right.size) {
+        right.addAll(families);
+        return right;
+      }
+      families.addAll(right);
+      return families;
+    }
+  }
+}
@@ -0,0 +1,167 @@
+package edu.caltech.cs2.project02.words;
+
+import java.util.Set;
+
+/**
+ * An inverted index over one WordList: for every position and letter, a
+ * bitset of the ids of the words with that letter there, and for every
+ * letter, a bitset of the words containing it anywhere. Bit id % 64 of
+ * long id / 64 stands for word id, so matching a hangman pattern is a few
+ * ANDs and ANDNOTs over whole longs, 64 words at a time, and counting
+ * letters is a popcount.
+ *
+ * Bitsets are only allocated for letters that occur, so a position of an
+ * all lower case list holds at most 26 of them. Build one with
+ * WordList.positions(), which builds it once and shares it.
+ */
+public class PositionIndex {
+  private final WordList words;
+  private final int longs;
+  // at[position][letter], or null if no word has letter at position.
+  private final long[][][] at;
+  // contains[letter], or null if no word contains letter.
+  private final long[][] contains;
+
+  PositionIndex(WordList words) {
+    this.words = words;
+    this.longs = (words.size() + 63) >>> 6;
+    this.at = new long[words.length()][256][];
+    this.contains = new long[256][];
+    for (int id = 0; id < words.size(); id++) {
+      for (int p = 0; p < words.length(); p++) {
+        int c = words.letters[id * words.length() + p] & 0xff;
+        if (this.at[p][c] == null) {
+          this.at[p][c] = new long[this.longs];
+        }
+        this.at[p][c][id >>> 6] |= 1L << id;
+        if (this.contains[c] == null) {
+          this.contains[c] = new long[this.longs];
+        }
+        this.contains[c][id >>> 6] |= 1L << id;
+      }
+    }
+  }
+
+  // The list this index is over.
+  public WordList getWords() {
+    return this.words;
+  }
+
+  // Returns a bitset of every word in the list.
+  public long[] all() {
+    long[] set = new long[this.longs];
+    for (int i = 0; i < set.length; i++) {
+      set[i] = -1L;
+    }
+    int tail = this.words.size() & 63;
+    if (tail != 0) {
+      set[set.length - 1] = (1L << tail) - 1;
+    }
+    return set;
+  }
+
+  /**
+   * Returns a bitset of the words that match pattern: every letter of
+   * pattern is at its position, and no guessed letter is at a '-'.
+   * @param pattern the hangman pattern, one character per letter of the word
+   * @param guesses the letters guessed so far
+   * @return the ids of the matching words, as a new bitset
+   */
+  public long[] matching(String pattern, Set<Character> guesses) {
+    if (pattern.length() != this.words.length()) {
+      throw new IllegalArgumentException();
+    }
+    long[] set = all();
+    boolean[] revealed = new boolean[256];
+    for (int p = 0; p < pattern.length(); p++) {
+      char c = pattern.charAt(p);
+      if (c != '-') {
+        if (c > 0xff) {
+          return new long[this.longs];
+        }
+        and(set, this.at[p][c]);
+        revealed[c] = true;
+      }
+    }
+    for (char c : guesses) {
+      if (c > 0xff) {
+        continue;
+      }
+      if (!revealed[c]) {
+        andNot(set, this.contains[c]);
+      }
+      else {
+        // A revealed letter may be in the word, just never under a '-'.
+        for (int p = 0; p < pattern.length(); p++) {
+          if (pattern.charAt(p) == '-') {
+            andNot(set, this.at[p][c]);
+          }
+        }
+      }
+    }
+    return set;
+  }
+
+  // Returns the number of words in set.
+  public static int count(long[] set) {
+    int count = 0;
+    for (long bits : set) {
+      count += Long.bitCount(bits);
+    }
+    return count;
+  }
+
+  /**
+   * Returns how many times letter appears in the words of set, counting a
+   * word once for every position that holds it.
+   * @param set the words to count in
+   * @param letter the letter to count
+   * @return the number of occurrences of letter in those words
+   */
+  public int occurrences(long[] set, char letter) {
+    if (letter > 0xff) {
+      return 0;
+    }
+    int count = 0;
+    for (int p = 0; p < this.at.length; p++) {
+      long[] bits = this.at[p][letter];
+      if (bits != null) {
+        for (int i = 0; i < set.length; i++) {
+          count += Long.bitCount(set[i] & bits[i]);
+        }
+      }
+    }
+    return count;
+  }
+
+  // Returns the first id in set at or after from, or -1 if there is none.
+  public static int nextId(long[] set, int from) {
+    int i = from >>> 6;
+    if (i >= set.length) {
+      return -1;
+    }
+    long bits = set[i] & (-1L << from);
+    while (bits == 0) {
+      if (++i == set.length) {
+        return -1;
+      }
+      bits = set[i];
+    }
+    return (i << 6) + Long.numberOfTrailingZeros(bits);
+  }
+
+  private static void and(long[] set, long[] bits) {
+    for (int i = 0; i < set.length; i++) {
+      set[i] = bits == null ? 0 : set[i] & bits[i];
+    }
+  }
+
+  private static void andNot(long[] set, long[] bits) {
+    if (bits == null) {
+      return;
+    }
+    for (int i = 0; i < set.length; i++) {
+      set[i] &= ~bits[i];
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package edu.caltech.cs2.project02.words;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+
+/**
+ * A word file split into one WordList per word length. Each file is read
+ * once per process; every later load of the same file returns the same
+ * index, so choosers and guessers can ask for it as often as they like.
+ *
+ * Words are kept in the order and with the duplicates removed exactly as a
+ * TreeSet<String> of the file's lines would keep them. Letters are stored
+ * as single bytes, so lines with characters above 0xff are skipped.
+ */
+public class WordIndex {
+  public static final String DEFAULT_FILENAME = "data/scrabble.txt";
+
+  private static final Map<String, WordIndex> LOADED = new HashMap<String, WordIndex>();
+
+  private final WordList[] lists;
+
+  private WordIndex(WordList[] lists) {
+    this.lists = lists;
+  }
+
+  // Returns the index of data/scrabble.txt.
+  public static WordIndex getDefault() throws FileNotFoundException {
+    return load(DEFAULT_FILENAME);
+  }
+
+  // Returns the index of filename, reading the file only the first time it is asked for.
+  public static synchronized WordIndex load(String filename) throws FileNotFoundException {
+    WordIndex index = LOADED.get(filename);
+    if (index == null) {
+      index = read(filename);
+      LOADED.put(filename, index);
+    }
+    return index;
+  }
+
+  private static WordIndex read(String filename) throws FileNotFoundException {
+    List<SortedSet<String>> byLength = new ArrayList<SortedSet<String>>();
+    try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
+      String word;
+      while ((word = reader.readLine()) != null) {
+        if (!isPackable(word)) {
+          continue;
+        }
+        while (byLength.size() <= word.length()) {
+          byLength.add(new TreeSet<String>());
+        }
+        byLength.get(word.length()).add(word);
+      }
+    }
+    catch (FileNotFoundException e) {
+      throw e;
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    WordList[] lists = new WordList[byLength.size()];
+    for (int length = 0; length < lists.length; length++) {
+      byte[] letters = new byte[byLength.get(length).size() * length];
+      int offset = 0;
+      for (String word : byLength.get(length)) {
+        for (int i = 0; i < length; i++) {
+          letters[offset++] = (byte) word.charAt(i);
+        }
+      }
+      lists[length] = new WordList(letters, length);
+    }
+    return new WordIndex(lists);
+  }
+
+  private static boolean isPackable(String word) {
+    for (int i = 0; i < word.length(); i++) {
+      if (word.charAt(i) > 0xff) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // Returns every word with the given number of letters; the list is empty if there are none.
+  public WordList words(int length) {
+    if (length < 0) {
+      throw new IllegalArgumentException();
+    }
+    if (length >= this.lists.length) {
+      return new WordList(new byte[0], length);
+    }
+    return this.lists[length];
+  }
+
+  // Returns the length of the longest word in the index.
+  public int getMaxLength() {
+    for (int length = this.lists.length - 1; length > 0; length--) {
+      if (this.lists[length].size() > 0) {
+        return length;
+      }
+    }
+    return 0;
+  }
+}
@@ -0,0 +1,69 @@
+package edu.caltech.cs2.project02.words;
+
+/**
+ * Every word of one length from a WordIndex, in sorted order with no
+ * duplicates, packed one byte per letter into a single array. Word id i
+ * starts at offset i * length(), so ids double as offsets and a word is
+ * never turned into a String unless someone asks for one.
+ *
+ * A WordList never changes after it is built, so it may be shared by any
+ * number of choosers, guessers and threads. Its PositionIndex is built the
+ * first time it is asked for and shared the same way.
+ */
+public class WordList {
+  final byte[] letters;
+  private final int length;
+  private final int size;
+  private volatile PositionIndex positions;
+
+  WordList(byte[] letters, int length) {
+    this.letters = letters;
+    this.length = length;
+    this.size = length == 0 ? 0 : letters.length / length;
+  }
+
+  // The number of words in this list.
+  public int size() {
+    return this.size;
+  }
+
+  // The number of letters in every word of this list.
+  public int length() {
+    return this.length;
+  }
+
+  // Returns letter position of word id.
+  public char charAt(int id, int position) {
+    if (position < 0 || position >= this.length) {
+      throw new IndexOutOfBoundsException();
+    }
+    return (char) (this.letters[id * this.length + position] & 0xff);
+  }
+
+  // Returns word id; ids are in sorted order, so get(0) is the first word.
+  public String get(int id) {
+    if (id < 0 || id >= this.size) {
+      throw new IndexOutOfBoundsException();
+    }
+    char[] word = new char[this.length];
+    for (int i = 0; i < this.length; i++) {
+      word[i] = (char) (this.letters[id * this.length + i] & 0xff);
+    }
+    return new String(word);
+  }
+
+  // Returns the bitset index of this list, building it on first use.
+  public PositionIndex positions() {
+    PositionIndex positions = this.positions;
+    if (positions == null) {
+      synchronized (this) {
+        positions = this.positions;
+        if (positions == null) {
+          positions = new PositionIndex(this);
+          this.positions = positions;
+        }
+      }
+    }
+    return positions;
+  }
+}
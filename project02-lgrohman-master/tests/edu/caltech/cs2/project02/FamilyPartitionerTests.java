@@ -0,0 +1,139 @@
+package edu.caltech.cs2.project02;
+
+import edu.caltech.cs2.project02.words.FamilyPartitioner;
+import edu.caltech.cs2.project02.words.WordIndex;
+import edu.caltech.cs2.project02.words.WordList;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class FamilyPartitionerTests {
+    private static final String[] ORDERS = {
+            "abcdefghijklmnopqrstuvwxyz",
+            "etaoinshrldcumwfgypbvkjxqz",
+            "zqxjkvbpygfwmucldrhsnioate"
+    };
+
+    // Partitions the way EvilHangmanChooser did before FamilyPartitioner:
+    // families keyed by pattern in a TreeMap, the first largest one kept.
+    private static class Reference {
+        private SortedSet<String> words;
+        private String pattern;
+
+        private Reference(WordList list) {
+            this.words = new TreeSet<String>();
+            for (int id = 0; id < list.size(); id++) {
+                this.words.add(list.get(id));
+            }
+            this.pattern = "-".repeat(list.length());
+        }
+
+        private int partition(char letter) {
+            TreeMap<String, SortedSet<String>> families = new TreeMap<String, SortedSet<String>>();
+            for (String word : this.words) {
+                char[] family = this.pattern.toCharArray();
+                for (int i = 0; i < family.length; i++) {
+                    if (word.charAt(i) == letter) {
+                        family[i] = letter;
+                    }
+                }
+                families.computeIfAbsent(new String(family), f -> new TreeSet<String>()).add(word);
+            }
+            String best = null;
+            for (String family : families.keySet()) {
+                if (best == null || families.get(family).size() > families.get(best).size()) {
+                    best = family;
+                }
+            }
+            int occurrences = 0;
+            for (int i = 0; i < best.length(); i++) {
+                if (best.charAt(i) == letter && this.pattern.charAt(i) != letter) {
+                    occurrences++;
+                }
+            }
+            this.words = families.get(best);
+            this.pattern = best;
+            return occurrences;
+        }
+    }
+
+    private static void assertSameGame(WordList words, FamilyPartitioner partitioner, String order) {
+        Reference reference = new Reference(words);
+        assertEquals(reference.pattern, partitioner.getPattern(), "Starting pattern incorrect");
+        for (char letter : order.toCharArray()) {
+            assertEquals(reference.partition(letter), partitioner.partition(letter),
+                    "Occurrences of " + letter + " incorrect");
+            assertEquals(reference.pattern, partitioner.getPattern(), "Pattern after " + letter + " incorrect");
+            assertEquals(reference.words.size(), partitioner.size(), "Family size after " + letter + " incorrect");
+            int k = 0;
+            for (String word : reference.words) {
+                assertEquals(word, partitioner.get(k++), "Family after " + letter + " incorrect");
+            }
+        }
+    }
+
+    @Order(0)
+    @Tag("C")
+    @DisplayName("Test FamilyPartitioner keeps the same family as a TreeMap of patterns")
+    @ParameterizedTest(name = "length = {0}")
+    @ValueSource(ints = {2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15})
+    public void testPartition(int length) throws FileNotFoundException {
+        WordList words = WordIndex.getDefault().words(length);
+        for (String order : ORDERS) {
+            assertSameGame(words, new FamilyPartitioner(words), order);
+        }
+    }
+
+    @Order(1)
+    @Tag("C")
+    @DisplayName("Test parallel partitioning keeps the same family as a TreeMap of patterns")
+    @ParameterizedTest(name = "length = {0}")
+    @ValueSource(ints = {4, 8, 12})
+    public void testParallelPartition(int length) throws FileNotFoundException {
+        WordList words = WordIndex.getDefault().words(length);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (String order : ORDERS) {
+                assertSameGame(words, new FamilyPartitioner(words, 1, pool), order);
+            }
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    @Order(2)
+    @Tag("C")
+    @DisplayName("Test long words, with and without room for a mask")
+    @ParameterizedTest(name = "length = {0}")
+    @ValueSource(ints = {31, 32, 63, 64, 100})
+    public void testLongWords(int length, @TempDir Path directory) throws IOException {
+        // Words that differ only in their last few letters, so families stay large.
+        Path file = directory.resolve("long" + length + ".txt");
+        Random random = new Random(length);
+        try (PrintWriter out = new PrintWriter(file.toFile())) {
+            for (int i = 0; i < 500; i++) {
+                StringBuilder word = new StringBuilder("x".repeat(length - 6));
+                for (int j = 0; j < 6; j++) {
+                    word.append((char) ('a' + random.nextInt(4)));
+                }
+                out.println(word);
+            }
+        }
+        WordList words = WordIndex.load(file.toString()).words(length);
+        for (String order : ORDERS) {
+            assertSameGame(words, new FamilyPartitioner(words), order);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package edu.caltech.cs2.project02;
+
+import edu.caltech.cs2.project02.words.PositionIndex;
+import edu.caltech.cs2.project02.words.WordIndex;
+import edu.caltech.cs2.project02.words.WordList;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.FileNotFoundException;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class PositionIndexTests {
+
+    // Whether word could be the secret word behind pattern after guesses.
+    private static boolean matches(String word, String pattern, Set<Character> guesses) {
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = word.charAt(i);
+            if (pattern.charAt(i) == '-' ? guesses.contains(c) : pattern.charAt(i) != c) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void assertMatching(WordList words, String pattern, Set<Character> guesses) {
+        PositionIndex positions = words.positions();
+        long[] set = positions.matching(pattern, guesses);
+        List<Integer> ids = new ArrayList<Integer>();
+        for (int id = PositionIndex.nextId(set, 0); id >= 0; id = PositionIndex.nextId(set, id + 1)) {
+            ids.add(id);
+        }
+
+        List<Integer> expected = new ArrayList<Integer>();
+        int[] occurrences = new int[26];
+        for (int id = 0; id < words.size(); id++) {
+            String word = words.get(id);
+            if (matches(word, pattern, guesses)) {
+                expected.add(id);
+                for (int i = 0; i < word.length(); i++) {
+                    if (word.charAt(i) >= 'a' && word.charAt(i) <= 'z') {
+                        occurrences[word.charAt(i) - 'a']++;
+                    }
+                }
+            }
+        }
+
+        assertEquals(expected, ids, "Matching words of " + pattern + " with " + guesses + " incorrect");
+        assertEquals(expected.size(), PositionIndex.count(set), "Count of " + pattern + " incorrect");
+        for (char c = 'a'; c <= 'z'; c++) {
+            assertEquals(occurrences[c - 'a'], positions.occurrences(set, c),
+                    "Occurrences of " + c + " in " + pattern + " incorrect");
+        }
+    }
+
+    @Order(0)
+    @Tag("C")
+    @DisplayName("Test matching against a brute-force check on patterns of real games")
+    @ParameterizedTest(name = "length = {0}")
+    @ValueSource(ints = {2, 3, 4, 5, 6, 7, 8, 9, 10, 12, 15})
+    public void testMatchingGames(int length) throws FileNotFoundException {
+        WordList words = WordIndex.getDefault().words(length);
+        Random random = new Random(length);
+        for (int game = 0; game < 10; game++) {
+            String secret = words.get(random.nextInt(words.size()));
+            Set<Character> guesses = new TreeSet<Character>();
+            List<Character> letters = new ArrayList<Character>();
+            for (char c = 'a'; c <= 'z'; c++) {
+                letters.add(c);
+            }
+            Collections.shuffle(letters, random);
+            for (char letter : letters.subList(0, 10)) {
+                guesses.add(letter);
+                char[] pattern = new char[length];
+                for (int i = 0; i < length; i++) {
+                    pattern[i] = guesses.contains(secret.charAt(i)) ? secret.charAt(i) : '-';
+                }
+                assertMatching(words, new String(pattern), guesses);
+            }
+        }
+    }
+
+    @Order(1)
+    @Tag("C")
+    @DisplayName("Test matching against a brute-force check on random patterns")
+    @ParameterizedTest(name = "length = {0}")
+    @ValueSource(ints = {3, 4, 5})
+    public void testMatchingRandom(int length) throws FileNotFoundException {
+        WordList words = WordIndex.getDefault().words(length);
+        Random random = new Random(length);
+        for (int trial = 0; trial < 200; trial++) {
+            Set<Character> guesses = new TreeSet<Character>();
+            char[] pattern = new char[length];
+            for (int i = 0; i < length; i++) {
+                pattern[i] = random.nextInt(3) == 0 ? (char) ('a' + random.nextInt(26)) : '-';
+            }
+            // Guesses may include letters that are and are not revealed.
+            int extra = random.nextInt(5);
+            for (int i = 0; i < extra; i++) {
+                guesses.add((char) ('a' + random.nextInt(26)));
+            }
+            for (char c : pattern) {
+                if (c != '-') {
+                    guesses.add(c);
+                }
+            }
+            assertMatching(words, new String(pattern), guesses);
+        }
+    }
+
+    @Order(2)
+    @Tag("C")
+    @DisplayName("Test all, nextId and bad patterns")
+    @Test
+    public void testAll() throws FileNotFoundException {
+        WordList words = WordIndex.getDefault().words(4);
+        PositionIndex positions = words.positions();
+        assertSame(positions, words.positions(), "Index built twice");
+        assertSame(words, positions.getWords(), "Index over the wrong list");
+
+        long[] all = positions.all();
+        assertEquals(words.size(), PositionIndex.count(all), "Count of all incorrect");
+        assertEquals(0, PositionIndex.nextId(all, 0), "First id incorrect");
+        assertEquals(words.size() - 1, PositionIndex.nextId(all, words.size() - 1), "Last id incorrect");
+        assertEquals(-1, PositionIndex.nextId(all, words.size()), "Id past the end found");
+        assertEquals(-1, PositionIndex.nextId(new long[2], 0), "Id found in an empty set");
+
+        assertMatching(words, "----", Set.of());
+        assertEquals(0, PositionIndex.count(positions.matching("--\u0100-", Set.of('\u0100'))),
+                "Pattern with a letter no word can hold matched");
+        assertThrows(IllegalArgumentException.class, () -> positions.matching("---", Set.of()));
+    }
+}
@@ -0,0 +1,105 @@
+package edu.caltech.cs2.project02;
+
+import edu.caltech.cs2.project02.choosers.EvilHangmanChooser;
+import edu.caltech.cs2.project02.guessers.AIHangmanGuesser;
+import edu.caltech.cs2.project02.guessers.SessionHangmanGuesser;
+import edu.caltech.cs2.project02.words.PositionIndex;
+import edu.caltech.cs2.project02.words.WordIndex;
+import edu.caltech.cs2.project02.words.WordList;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.FileNotFoundException;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class SessionGuesserTests {
+
+    // Plays secret to the end, checking that both guessers make every guess alike.
+    private static void assertSameGame(String secret, AIHangmanGuesser ai, SessionHangmanGuesser session)
+            throws FileNotFoundException {
+        WordList words = WordIndex.getDefault().words(secret.length());
+        Set<Character> guesses = new TreeSet<Character>();
+        char[] pattern = "-".repeat(secret.length()).toCharArray();
+        while (new String(pattern).indexOf('-') >= 0 && guesses.size() < 26) {
+            char expected = ai.getGuess(new String(pattern), guesses);
+            assertEquals(expected, session.getGuess(new String(pattern), guesses),
+                    "Guess for " + new String(pattern) + " with " + guesses + " incorrect");
+            assertEquals(PositionIndex.count(words.positions().matching(new String(pattern), guesses)),
+                    session.getCandidateCount(), "Candidate count for " + new String(pattern) + " incorrect");
+            assertFalse(guesses.contains(expected), "Letter " + expected + " guessed twice");
+            guesses.add(expected);
+            for (int i = 0; i < pattern.length; i++) {
+                if (secret.charAt(i) == expected) {
+                    pattern[i] = expected;
+                }
+            }
+        }
+    }
+
+    @Order(0)
+    @Tag("C")
+    @DisplayName("Test SessionHangmanGuesser guesses like AIHangmanGuesser across whole games")
+    @ParameterizedTest(name = "length = {0}")
+    @ValueSource(ints = {2, 3, 4, 5, 6, 7, 8, 10, 12, 15})
+    public void testWholeGames(int length) throws FileNotFoundException {
+        WordList words = WordIndex.getDefault().words(length);
+        AIHangmanGuesser ai = new AIHangmanGuesser();
+        // One guesser for every game, so each game has to start a new session.
+        SessionHangmanGuesser session = new SessionHangmanGuesser();
+        Random random = new Random(length);
+        for (int game = 0; game < 20; game++) {
+            assertSameGame(words.get(random.nextInt(words.size())), ai, session);
+        }
+    }
+
+    @Order(1)
+    @Tag("C")
+    @DisplayName("Test SessionHangmanGuesser across games of changing length")
+    @Test
+    public void testChangingGames() throws FileNotFoundException {
+        AIHangmanGuesser ai = new AIHangmanGuesser();
+        SessionHangmanGuesser session = new SessionHangmanGuesser();
+        for (String secret : List.of("hangman", "cat", "cot", "zyzzyva", "quiz", "jazz", "buzz")) {
+            assertSameGame(secret, ai, session);
+        }
+    }
+
+    @Order(2)
+    @Tag("C")
+    @DisplayName("Test SessionHangmanGuesser after calls that do not follow each other")
+    @Test
+    public void testUnrelatedCalls() throws FileNotFoundException {
+        AIHangmanGuesser ai = new AIHangmanGuesser();
+        SessionHangmanGuesser session = new SessionHangmanGuesser();
+        List<String> patterns = List.of("----", "-a--", "-a-e", "----", "-o--", "s---", "-a-e", "---s");
+        List<Set<Character>> guesses = List.of(Set.of('e'), Set.of('a', 'e'), Set.of('a', 'e', 's'), Set.of('a'),
+                Set.of('o', 'e'), Set.of('s'), Set.of('a', 'e', 'x', 'y'), Set.of('a', 'e', 'i', 'o', 's'));
+        for (int i = 0; i < patterns.size(); i++) {
+            assertEquals(ai.getGuess(patterns.get(i), guesses.get(i)), session.getGuess(patterns.get(i), guesses.get(i)),
+                    "Guess for " + patterns.get(i) + " with " + guesses.get(i) + " incorrect");
+        }
+    }
+
+    @Order(3)
+    @Tag("C")
+    @DisplayName("Test SessionHangmanGuesser against an evil chooser")
+    @ParameterizedTest(name = "length = {0}")
+    @ValueSource(ints = {4, 6, 8})
+    public void testEvilGames(int length) throws FileNotFoundException {
+        AIHangmanGuesser ai = new AIHangmanGuesser();
+        SessionHangmanGuesser session = new SessionHangmanGuesser();
+        EvilHangmanChooser chooser = new EvilHangmanChooser(length, 26);
+        while (!chooser.isGameOver()) {
+            String pattern = chooser.getPattern();
+            Set<Character> guesses = chooser.getGuesses();
+            char guess = ai.getGuess(pattern, guesses);
+            assertEquals(guess, session.getGuess(pattern, guesses),
+                    "Guess for " + pattern + " with " + guesses + " incorrect");
+            chooser.makeGuess(guess);
+        }
+    }
+}
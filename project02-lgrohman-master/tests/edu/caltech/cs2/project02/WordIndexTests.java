@@ -0,0 +1,149 @@
+package edu.caltech.cs2.project02;
+
+import edu.caltech.cs2.project02.words.WordIndex;
+import edu.caltech.cs2.project02.words.WordList;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class WordIndexTests {
+
+    // Reads filename the way the choosers and guessers did before WordIndex.
+    private static SortedSet<String> readWords(String filename, int length) throws FileNotFoundException {
+        SortedSet<String> words = new TreeSet<String>();
+        Scanner in = new Scanner(new File(filename));
+        while (in.hasNextLine()) {
+            String word = in.nextLine();
+            if (word.length() == length) {
+                words.add(word);
+            }
+        }
+        in.close();
+        return words;
+    }
+
+    private static List<String> toList(WordList words) {
+        List<String> list = new ArrayList<String>();
+        for (int id = 0; id < words.size(); id++) {
+            list.add(words.get(id));
+        }
+        return list;
+    }
+
+    private static Path writeWords(Path directory, String... words) throws IOException {
+        Path file = directory.resolve("words.txt");
+        try (PrintWriter out = new PrintWriter(file.toFile())) {
+            for (String word : words) {
+                out.println(word);
+            }
+        }
+        return file;
+    }
+
+    @Order(0)
+    @Tag("C")
+    @DisplayName("Test that every length holds the words a TreeSet of scrabble.txt holds")
+    @Test
+    public void testMatchesTreeSet() throws FileNotFoundException {
+        WordIndex index = WordIndex.getDefault();
+        int words = 0;
+        for (int length = 0; length <= index.getMaxLength() + 1; length++) {
+            WordList list = index.words(length);
+            assertEquals(length, list.length(), "Length of list " + length + " incorrect");
+            assertEquals(new ArrayList<String>(readWords(WordIndex.DEFAULT_FILENAME, length)), toList(list),
+                    "Words of length " + length + " incorrect");
+            words += list.size();
+        }
+        assertTrue(words > 100000, "Too few words loaded: " + words);
+        assertEquals(0, index.words(index.getMaxLength() + 1).size(), "Words longer than the longest found");
+    }
+
+    @Order(1)
+    @Tag("C")
+    @DisplayName("Test that a file is read once and its index shared, even between threads")
+    @Test
+    public void testShared(@TempDir Path directory) throws Exception {
+        assertSame(WordIndex.getDefault(), WordIndex.load(WordIndex.DEFAULT_FILENAME), "Default index read twice");
+        WordList words = WordIndex.getDefault().words(5);
+        assertSame(words, WordIndex.getDefault().words(5), "List built twice");
+        assertSame(words.positions(), WordIndex.getDefault().words(5).positions(), "Position index built twice");
+
+        String filename = writeWords(directory, "cat", "dog", "emu").toString();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<WordIndex>> loads = new ArrayList<Future<WordIndex>>();
+            for (int i = 0; i < 32; i++) {
+                loads.add(pool.submit(() -> WordIndex.load(filename)));
+            }
+            WordIndex first = loads.get(0).get();
+            for (Future<WordIndex> load : loads) {
+                assertSame(first, load.get(), "File read more than once");
+            }
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    @Order(2)
+    @Tag("C")
+    @DisplayName("Test sorting, duplicates and blank lines")
+    @Test
+    public void testSmallFile(@TempDir Path directory) throws IOException {
+        WordIndex index = WordIndex.load(writeWords(directory, "pear", "apple", "fig", "pear", "", "Fig",
+                "kiwi", "apple").toString());
+        assertEquals(List.of("Fig", "fig"), toList(index.words(3)), "Words of length 3 incorrect");
+        assertEquals(List.of("kiwi", "pear"), toList(index.words(4)), "Words of length 4 incorrect");
+        assertEquals(List.of("apple"), toList(index.words(5)), "Words of length 5 incorrect");
+        assertEquals(0, index.words(0).size(), "Blank line counted as a word");
+        assertEquals(0, index.words(2).size(), "Words of length 2 incorrect");
+        assertEquals(0, index.words(40).size(), "Words of length 40 incorrect");
+        assertEquals(5, index.getMaxLength(), "Max length incorrect");
+        assertThrows(IllegalArgumentException.class, () -> index.words(-1));
+        assertThrows(FileNotFoundException.class, () -> WordIndex.load(directory.resolve("missing.txt").toString()));
+    }
+
+    @Order(3)
+    @Tag("C")
+    @DisplayName("Test that letters up to 0xff are kept and words with larger characters skipped")
+    @Test
+    public void testWideCharacters(@TempDir Path directory) throws IOException {
+        // The file is written and read in the platform charset, which must be able to hold both.
+        Assumptions.assumeTrue(Charset.defaultCharset().newEncoder().canEncode("\u00e9\u0101"));
+        WordIndex index = WordIndex.load(writeWords(directory, "caf\u00e9", "\u0101bcd", "kiwi").toString());
+        assertEquals(List.of("caf\u00e9", "kiwi"), toList(index.words(4)), "Words of length 4 incorrect");
+        assertEquals('\u00e9', index.words(4).charAt(0, 3), "Letter above 0x7f incorrect");
+    }
+
+    @Order(4)
+    @Tag("C")
+    @DisplayName("Test that charAt agrees with get and that bad ids and positions are rejected")
+    @Test
+    public void testWordList() throws FileNotFoundException {
+        for (int length : new int[] {1, 2, 7, 15}) {
+            WordList words = WordIndex.getDefault().words(length);
+            for (int id = 0; id < words.size(); id += 97) {
+                String word = words.get(id);
+                assertEquals(length, word.length(), "Length of word " + id + " incorrect");
+                for (int i = 0; i < length; i++) {
+                    assertEquals(word.charAt(i), words.charAt(id, i), "Letter " + i + " of " + word + " incorrect");
+                }
+            }
+            assertThrows(IndexOutOfBoundsException.class, () -> words.get(-1));
+            assertThrows(IndexOutOfBoundsException.class, () -> words.get(words.size()));
+            assertThrows(IndexOutOfBoundsException.class, () -> words.charAt(0, -1));
+            assertThrows(IndexOutOfBoundsException.class, () -> words.charAt(0, length));
+        }
+    }
+}